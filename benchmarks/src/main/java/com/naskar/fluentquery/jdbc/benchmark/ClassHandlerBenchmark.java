@@ -0,0 +1,69 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.naskar.fluentquery.Query;
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassHandlerBenchmark {
+	
+	@Param({ "100", "10000" })
+	private int rows;
+	
+	private Connection conn;
+	private DAOImpl dao;
+	
+	@Setup
+	public void setup() throws Exception {
+		conn = Database.open("classhandler");
+		Database.fill(conn, rows);
+		dao = Database.newDAO(conn);
+	}
+	
+	@TearDown
+	public void tearDown() throws Exception {
+		conn.close();
+	}
+	
+	@Benchmark
+	public List<RegionSummary> projection() {
+		return dao.list(query(), RegionSummary.class);
+	}
+	
+	@Benchmark
+	public List<RegionSummary> aggregation() {
+		return dao.list(dao.query(Customer.class)
+				.select(i -> i.getRegionCode(), s -> s.func(c -> c, "region"))
+				.select(x -> x.getBalance(), s -> s.func(c -> "sum(" + c + ")", "balance"))
+				.groupBy(i -> i.getRegionCode()), 
+				RegionSummary.class);
+	}
+	
+	private Query<Customer> query() {
+		return dao.query(Customer.class)
+				.select(i -> i.getRegionCode(), s -> s.func(c -> c, "region"))
+				.select(x -> x.getBalance(), s -> s.func(c -> c, "balance"));
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+import com.naskar.fluentquery.mapping.MappingValueProvider;
+
+public class Database {
+	
+	static {
+		Logger.getLogger("com.naskar.fluentquery").setLevel(Level.WARNING);
+	}
+	
+	public static Connection open(String name) throws SQLException {
+		org.h2.Driver.class.getName();
+		
+		Connection conn = DriverManager.getConnection("jdbc:h2:mem:" + name);
+		
+		try(Statement st = conn.createStatement()) {
+			st.execute("CREATE TABLE TB_CUSTOMER("
+					+ "CD_CUSTOMER BIGINT PRIMARY KEY, "
+					+ "DS_NAME VARCHAR(128), "
+					+ "VL_BALANCE DOUBLE, "
+					+ "NU_REGION_CODE INT, "
+					+ "DT_CREATED TIMESTAMP"
+					+ ")");
+		}
+		
+		return conn;
+	}
+	
+	public static void fill(Connection conn, int rows) throws SQLException {
+		try(PreparedStatement st = conn.prepareStatement(
+				"INSERT INTO TB_CUSTOMER VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)")) {
+			for(int i = 1; i <= rows; i++) {
+				st.setLong(1, i);
+				st.setString(2, "customer" + i);
+				st.setDouble(3, i * 1.5);
+				st.setInt(4, i % 10);
+				st.addBatch();
+				
+				if(i % 1000 == 0) {
+					st.executeBatch();
+				}
+			}
+			st.executeBatch();
+		}
+	}
+	
+	public static void clear(Connection conn) throws SQLException {
+		try(Statement st = conn.createStatement()) {
+			st.execute("TRUNCATE TABLE TB_CUSTOMER");
+		}
+	}
+	
+	public static DAOImpl newDAO(Connection conn) {
+		return newDAO(conn, 5);
+	}
+	
+	public static DAOImpl newDAO(Connection conn, int columns) {
+		DAOImpl dao = new DAOImpl(() -> conn);
+		
+		MappingValueProvider<Customer> m = new MappingValueProvider<Customer>()
+				.to(Customer.class, "TB_CUSTOMER")
+				.map(i -> i.getId(), "CD_CUSTOMER", (i, v) -> i.setId(v));
+		
+		if(columns > 1) {
+			m = m.map(i -> i.getName(), "DS_NAME", (i, v) -> i.setName(v));
+		}
+		if(columns > 2) {
+			m = m.map(i -> i.getBalance(), "VL_BALANCE", (i, v) -> i.setBalance(v));
+		}
+		if(columns > 3) {
+			m = m.map(i -> i.getRegionCode(), "NU_REGION_CODE", (i, v) -> i.setRegionCode(v));
+		}
+		if(columns > 4) {
+			m = m.map(i -> i.getCreated(), "DT_CREATED", (i, v) -> i.setCreated(v));
+		}
+		
+		dao.addMapping(m);
+		
+		return dao;
+	}
+
+}
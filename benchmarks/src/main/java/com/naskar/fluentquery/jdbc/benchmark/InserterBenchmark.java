@@ -0,0 +1,95 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.naskar.fluentquery.jdbc.BatchInserter;
+import com.naskar.fluentquery.jdbc.Inserter;
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InserterBenchmark {
+	
+	private static final int BATCH = 1000;
+	
+	private Connection conn;
+	private DAOImpl dao;
+	private Inserter<Customer> inserter;
+	private BatchInserter<Customer> batchInserter;
+	private Customer customer;
+	private long id;
+	
+	@Setup
+	public void setup() throws Exception {
+		conn = Database.open("inserter");
+		dao = Database.newDAO(conn);
+		
+		inserter = dao.binder(Customer.class, (b) -> 
+			dao.insert(Customer.class)
+				.value(i -> i.getId()).set(b.get(i -> i.getId()))
+				.value(i -> i.getName()).set(b.get(i -> i.getName()))
+				.value(i -> i.getBalance()).set(b.get(i -> i.getBalance()))
+				.value(i -> i.getRegionCode()).set(b.get(i -> i.getRegionCode()))
+		);
+		
+		batchInserter = dao.batchBinder(Customer.class, (b) -> 
+			dao.insert(Customer.class)
+				.value(i -> i.getId()).set(b.get(i -> i.getId()))
+				.value(i -> i.getName()).set(b.get(i -> i.getName()))
+				.value(i -> i.getBalance()).set(b.get(i -> i.getBalance()))
+				.value(i -> i.getRegionCode()).set(b.get(i -> i.getRegionCode())),
+			BATCH);
+		
+		customer = new Customer();
+		customer.setName("customer");
+		customer.setBalance(10.0);
+		customer.setRegionCode(1L);
+	}
+	
+	@Setup(Level.Iteration)
+	public void clear() throws Exception {
+		Database.clear(conn);
+		id = 0;
+	}
+	
+	@TearDown
+	public void tearDown() throws Exception {
+		batchInserter.close();
+		conn.close();
+	}
+	
+	@Benchmark
+	public void insert() {
+		customer.setId(++id);
+		inserter.insert(customer);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void batchInsert() {
+		for(int i = 0; i < BATCH; i++) {
+			customer.setId(++id);
+			batchInserter.add(customer);
+		}
+	}
+
+}
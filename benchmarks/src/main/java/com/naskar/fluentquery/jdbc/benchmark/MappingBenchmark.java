@@ -0,0 +1,73 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+	
+	@Param({ "100", "10000" })
+	private int rows;
+	
+	@Param({ "1", "3", "5" })
+	private int columns;
+	
+	private Connection conn;
+	private DAOImpl dao;
+	
+	@Setup
+	public void setup() throws Exception {
+		conn = Database.open("mapping");
+		Database.fill(conn, rows);
+		dao = Database.newDAO(conn, columns);
+	}
+	
+	@TearDown
+	public void tearDown() throws Exception {
+		conn.close();
+	}
+	
+	@Benchmark
+	public List<Customer> list() {
+		return dao.list(dao.query(Customer.class));
+	}
+	
+	@Benchmark
+	public void listWithHandler(Blackhole bh) {
+		dao.list(dao.query(Customer.class), (Customer c) -> {
+			bh.consume(c);
+			return true;
+		});
+	}
+	
+	@Benchmark
+	public void stream(Blackhole bh) {
+		try(Stream<Customer> s = dao.stream(dao.query(Customer.class))) {
+			s.forEach(bh::consume);
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+public class NoopConnection {
+	
+	public static Connection create() {
+		PreparedStatement st = (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatement.class.getClassLoader(), 
+				new Class<?>[] { PreparedStatement.class }, 
+				(proxy, method, args) -> defaultValue(method.getReturnType()));
+		
+		return (Connection) Proxy.newProxyInstance(
+				Connection.class.getClassLoader(), 
+				new Class<?>[] { Connection.class }, 
+				(proxy, method, args) -> {
+					if(method.getName().startsWith("prepare")) {
+						return st;
+					}
+					return defaultValue(method.getReturnType());
+				});
+	}
+	
+	private static Object defaultValue(Class<?> type) {
+		if(type == int.class) {
+			return 1;
+		}
+		if(type == long.class) {
+			return 1L;
+		}
+		if(type == boolean.class) {
+			return false;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+
+/*
+ * H2 1.4 has no "on conflict" clause, so the statements run against a no-op 
+ * connection: the measure is the DAO cost of building and binding them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OnConflictBenchmark {
+	
+	private DAOImpl dao;
+	private long id;
+	
+	@Setup
+	public void setup() throws Exception {
+		Connection conn = NoopConnection.create();
+		dao = Database.newDAO(conn);
+	}
+	
+	@Benchmark
+	public void executeOnConflict() {
+		long i = ++id;
+		dao.executeOnConflict(
+			dao.insert(Customer.class)
+				.value(x -> x.getId()).set(i)
+				.value(x -> x.getRegionCode()).set(1L)
+				.value(x -> x.getBalance()).set(10.0), 
+			dao.update(Customer.class)
+				.value(x -> x.getRegionCode()).set(1L)
+				.value(x -> x.getBalance()).set(10.0),
+			x -> x.getId());
+	}
+	
+	@Benchmark
+	public void executeOnConflictDoNothing() {
+		long i = ++id;
+		dao.executeOnConflictDoNothing(
+			dao.insert(Customer.class)
+				.value(x -> x.getId()).set(i)
+				.value(x -> x.getBalance()).set(10.0), 
+			x -> x.getId());
+	}
+
+}
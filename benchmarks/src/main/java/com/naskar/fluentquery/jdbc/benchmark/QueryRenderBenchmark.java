@@ -0,0 +1,72 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.naskar.fluentquery.converters.NativeSQLResult;
+import com.naskar.fluentquery.jdbc.QueryTemplate;
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryRenderBenchmark {
+	
+	private Connection conn;
+	private DAOImpl dao;
+	private QueryTemplate<Customer, Customer> template;
+	private Customer params;
+	
+	@Setup
+	public void setup() throws Exception {
+		conn = Database.open("render");
+		Database.fill(conn, 10);
+		dao = Database.newDAO(conn);
+		
+		template = dao.template(Customer.class, (b) -> 
+			dao.query(Customer.class)
+				.where(i -> i.getId()).eq(b.get(i -> i.getId())));
+		
+		params = new Customer();
+		params.setId(5L);
+	}
+	
+	@TearDown
+	public void tearDown() throws Exception {
+		conn.close();
+	}
+	
+	@Benchmark
+	public NativeSQLResult render() {
+		return dao.query(Customer.class)
+			.where(i -> i.getId()).eq(5L)
+			.to(dao.getNativeSQL());
+	}
+	
+	@Benchmark
+	public Customer single() {
+		return dao.single(dao.query(Customer.class)
+			.where(i -> i.getId()).eq(5L));
+	}
+	
+	@Benchmark
+	public Customer singleTemplate() {
+		return template.single(params);
+	}
+
+}
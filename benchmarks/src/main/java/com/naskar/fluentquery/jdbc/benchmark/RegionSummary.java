@@ -0,0 +1,21 @@
+package com.naskar.fluentquery.jdbc.benchmark;
+
+public class RegionSummary {
+	
+	private Long region;
+	private Double balance;
+	
+	public Long getRegion() {
+		return region;
+	}
+	public void setRegion(Long region) {
+		this.region = region;
+	}
+	public Double getBalance() {
+		return balance;
+	}
+	public void setBalance(Double balance) {
+		this.balance = balance;
+	}
+
+}
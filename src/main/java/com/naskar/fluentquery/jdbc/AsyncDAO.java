@@ -0,0 +1,39 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.naskar.fluentquery.Delete;
+import com.naskar.fluentquery.Into;
+import com.naskar.fluentquery.Query;
+import com.naskar.fluentquery.Update;
+
+public interface AsyncDAO {
+	
+	<R> CompletableFuture<R> submit(Function<DAO, R> work);
+	
+	<T> CompletableFuture<T> single(Query<T> query);
+	
+	<T> CompletableFuture<List<T>> list(Query<T> query);
+	
+	<T, R> CompletableFuture<List<R>> list(Query<T> query, Class<R> clazz);
+	
+	<T, R> Stream<T> parallelScan(Query<T> query, Function<T, R> property, int partitions);
+	
+	<T, R, A> CompletableFuture<A> parallelScan(Query<T> query, Function<T, R> property, int partitions, 
+			Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner);
+	
+	<T> CompletableFuture<Void> execute(Into<T> into);
+	
+	<T> CompletableFuture<Void> execute(Update<T> update);
+	
+	<T> CompletableFuture<Void> execute(Delete<T> delete);
+	
+	CompletableFuture<Void> execute(String sql, List<Object> params);
+
+}
@@ -0,0 +1,8 @@
+package com.naskar.fluentquery.jdbc;
+
+@FunctionalInterface
+public interface BatchHandler {
+	
+	void handle(int[] counts);
+
+}
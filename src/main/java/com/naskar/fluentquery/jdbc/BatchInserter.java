@@ -0,0 +1,19 @@
+package com.naskar.fluentquery.jdbc;
+
+public interface BatchInserter<T> extends AutoCloseable {
+	
+	void add(T t);
+	
+	int[] flush();
+	
+	@Override
+	void close();
+	
+	default void insertAll(Iterable<T> items) {
+		for(T t : items) {
+			add(t);
+		}
+		flush();
+	}
+
+}
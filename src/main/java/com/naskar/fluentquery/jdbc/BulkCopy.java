@@ -0,0 +1,11 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.util.List;
+
+public interface BulkCopy {
+	
+	long copy(Connection conn, String table, List<String> columns, Reader csv) throws Exception;
+
+}
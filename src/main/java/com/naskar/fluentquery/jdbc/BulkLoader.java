@@ -0,0 +1,8 @@
+package com.naskar.fluentquery.jdbc;
+
+@FunctionalInterface
+public interface BulkLoader<T> {
+	
+	long load(Iterable<T> items);
+
+}
@@ -0,0 +1,97 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.util.BitSet;
+
+public class ColumnarResult {
+
+	public enum Type { LONG, INT, DOUBLE, OBJECT }
+
+	private String[] names;
+	private Type[] types;
+	private Object[] values;
+	private BitSet[] nulls;
+
+	private int rowCount;
+
+	public ColumnarResult(String[] names, Type[] types, Object[] values, BitSet[] nulls, int rowCount) {
+		this.names = names;
+		this.types = types;
+		this.values = values;
+		this.nulls = nulls;
+		this.rowCount = rowCount;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return names.length;
+	}
+
+	public String getName(int column) {
+		return names[column];
+	}
+
+	public int indexOf(String name) {
+		for(int c = 0; c < names.length; c++) {
+			if(names[c].equalsIgnoreCase(name)) {
+				return c;
+			}
+		}
+		return -1;
+	}
+
+	public Type getType(int column) {
+		return types[column];
+	}
+
+	public long[] getLongs(int column) {
+		return (long[]) values[column];
+	}
+
+	public int[] getInts(int column) {
+		return (int[]) values[column];
+	}
+
+	public double[] getDoubles(int column) {
+		return (double[]) values[column];
+	}
+
+	public Object[] getObjects(int column) {
+		return (Object[]) values[column];
+	}
+
+	public long[] getLongs(String name) {
+		return getLongs(column(name));
+	}
+
+	public int[] getInts(String name) {
+		return getInts(column(name));
+	}
+
+	public double[] getDoubles(String name) {
+		return getDoubles(column(name));
+	}
+
+	public Object[] getObjects(String name) {
+		return getObjects(column(name));
+	}
+
+	public BitSet getNulls(int column) {
+		return nulls[column];
+	}
+
+	public boolean isNull(int column, int row) {
+		return nulls[column].get(row);
+	}
+
+	private int column(String name) {
+		int c = indexOf(name);
+		if(c < 0) {
+			throw new IllegalArgumentException("Column not found: " + name);
+		}
+		return c;
+	}
+
+}
@@ -5,4 +5,16 @@ import java.sql.Connection;
 public interface ConnectionScope { 
 	void begin(Object owner);
 	Connection end(Object owner);
+	
+	default void begin(Object owner, boolean readOnly) {
+		begin(owner);
+	}
+	
+	default boolean isReadOnly() {
+		return false;
+	}
+	
+	default boolean isActive() {
+		return false;
+	}
 }
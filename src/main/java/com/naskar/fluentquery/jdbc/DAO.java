@@ -1,7 +1,11 @@
 package com.naskar.fluentquery.jdbc;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.naskar.fluentquery.Delete;
 import com.naskar.fluentquery.Into;
@@ -15,6 +19,10 @@ public interface DAO {
 	
 	<T> T single(Query<T> query);
 	
+	<T> T single(Query<T> query, boolean cached);
+	
+	<P, T> QueryTemplate<P, T> template(Class<P> clazz, Function<BinderSQL<P>, Query<T>> query);
+	
 	<T> Into<T> insert(Class<T> clazz);
 	
 	<T> Update<T> update(Class<T> clazz);
@@ -23,8 +31,22 @@ public interface DAO {
 	
 	<P, T> Inserter<P> binder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into);
 	
+	<P, T> BatchInserter<P> batchBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, int batchSize);
+	
+	<P, T> BatchInserter<P> batchBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, 
+			int batchSize, BatchHandler handler);
+	
+	<P, T> BatchInserter<P> multiRowBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, int maxRows);
+	
+	<P, T> BatchInserter<P> multiRowBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, 
+			int maxRows, BatchHandler handler);
+	
+	<P, T> BulkLoader<P> bulkLoader(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, BulkCopy copy);
+	
 	<T> List<T> list(Query<T> query);
 	
+	<T> List<T> list(Query<T> query, boolean cached);
+	
 	<T> List<T> list(Query<T> query, PreparedStatementHandler stHandler);
 	
 	<T> void listWith(Query<T> query, ResultSetHandler handler, PreparedStatementHandler stHandler);
@@ -37,6 +59,30 @@ public interface DAO {
 	
 	<T> void list(Query<T> query, ResultSetHandler rsHandler);
 	
+	<T, R> Iterator<List<T>> paginate(Query<T> query, Function<T, R> key, int pageSize);
+	
+	<T> Iterator<List<T>> paginate(Query<T> query, List<Function<T, ?>> keys, boolean descending, int pageSize);
+	
+	<T, R> List<Partition<T>> partition(Query<T> query, Function<T, R> property, int partitions);
+	
+	<T, R> List<Partition<T>> partitionByModulo(Query<T> query, Function<T, R> property, int partitions);
+	
+	<P, C, K> Map<K, List<C>> loadRelation(List<P> parents, Function<P, K> parentKey, 
+			Query<C> children, Function<C, K> foreignKey);
+	
+	<P, C, K> void loadRelation(List<P> parents, Function<P, K> parentKey, 
+			Query<C> children, Function<C, K> foreignKey, BiConsumer<P, List<C>> setter);
+	
+	<T> ColumnarResult columns(Query<T> query);
+	
+	ColumnarResult columns(String sql, List<Object> params);
+	
+	<T> Stream<T> stream(Query<T> query);
+	
+	<T> Stream<T> stream(Query<T> query, int fetchSize);
+	
+	<T> Stream<T> stream(String sql, List<Object> params, Class<T> clazz);
+	
 	<T> void list(String sql, List<Object> params, Class<T> clazz, ResultHandler<T> action);
 	
 	void list(String sql, List<Object> params, ResultSetHandler rsHandler);
@@ -47,10 +93,18 @@ public interface DAO {
 	
 	<T> void execute(Into<T> into, ResultSetHandler handlerKeys);
 	
+	<T> void executeAll(List<Into<T>> intos);
+	
 	<T, R> void executeOnConflict(Into<T> into, Update<T> update, Function<T, R> property);
 	
 	<T, R> void executeOnConflictDoNothing(Into<T> into, Function<T, R> property);
 	
+	<T, R> void upsertAll(Class<T> clazz, Function<BinderSQL<T>, Into<T>> into, Iterable<T> items, 
+			Function<T, R> property, List<Function<T, ?>> updated);
+	
+	<T, R> void upsertAllDoNothing(Class<T> clazz, Function<BinderSQL<T>, Into<T>> into, Iterable<T> items, 
+			Function<T, R> property);
+	
 	<T> void execute(Update<T> update);
 	
 	<T> void execute(Delete<T> delete);
@@ -0,0 +1,151 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.util.List;
+
+public class ExecutionEvent {
+	
+	public enum Type { QUERY, UPDATE, BATCH }
+	
+	private Type type;
+	private String sql;
+	private List<Object> params;
+	private String fingerprint;
+	
+	private long rowCount;
+	private long prepareNanos;
+	private long executeNanos;
+	private long fetchNanos;
+	private long mapNanos;
+	private Throwable error;
+	
+	public ExecutionEvent(Type type, String sql, List<Object> params) {
+		this.type = type;
+		this.sql = sql;
+		this.params = params;
+	}
+	
+	public Type getType() {
+		return type;
+	}
+	
+	public String getSql() {
+		return sql;
+	}
+	
+	public List<Object> getParams() {
+		return params;
+	}
+	
+	public int getParamCount() {
+		return params != null ? params.size() : 0;
+	}
+	
+	public String getFingerprint() {
+		if(fingerprint == null) {
+			fingerprint = fingerprint(sql);
+		}
+		return fingerprint;
+	}
+	
+	public long getRowCount() {
+		return rowCount;
+	}
+	
+	public void setRowCount(long rowCount) {
+		this.rowCount = rowCount;
+	}
+	
+	public long getPrepareNanos() {
+		return prepareNanos;
+	}
+	
+	public void setPrepareNanos(long prepareNanos) {
+		this.prepareNanos = prepareNanos;
+	}
+	
+	public long getExecuteNanos() {
+		return executeNanos;
+	}
+	
+	public void setExecuteNanos(long executeNanos) {
+		this.executeNanos = executeNanos;
+	}
+	
+	public long getFetchNanos() {
+		return fetchNanos;
+	}
+	
+	public void setFetchNanos(long fetchNanos) {
+		this.fetchNanos = fetchNanos;
+	}
+	
+	public long getMapNanos() {
+		return mapNanos;
+	}
+	
+	public void setMapNanos(long mapNanos) {
+		this.mapNanos = mapNanos;
+	}
+	
+	public long getTotalNanos() {
+		return prepareNanos + executeNanos + fetchNanos + mapNanos;
+	}
+	
+	public Throwable getError() {
+		return error;
+	}
+	
+	public void setError(Throwable error) {
+		this.error = error;
+	}
+	
+	public static String fingerprint(String sql) {
+		StringBuilder sb = new StringBuilder(sql.length());
+		
+		int i = 0;
+		while(i < sql.length()) {
+			char c = sql.charAt(i);
+			
+			if(c == '\'') {
+				i++;
+				while(i < sql.length()) {
+					if(sql.charAt(i) == '\'') {
+						if(i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+							i++;
+						} else {
+							break;
+						}
+					}
+					i++;
+				}
+				sb.append('?');
+				i++;
+				
+			} else if(Character.isDigit(c) && (sb.length() == 0 || !isWordChar(sb.charAt(sb.length() - 1)))) {
+				while(i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+					i++;
+				}
+				sb.append('?');
+				
+			} else if(Character.isWhitespace(c)) {
+				while(i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+					i++;
+				}
+				if(sb.length() > 0) {
+					sb.append(' ');
+				}
+				
+			} else {
+				sb.append(c);
+				i++;
+			}
+		}
+		
+		return sb.toString().trim();
+	}
+	
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+	
+}
@@ -0,0 +1,10 @@
+package com.naskar.fluentquery.jdbc;
+
+public interface ExecutionListener {
+	
+	default void before(ExecutionEvent event) {
+	}
+	
+	void after(ExecutionEvent event);
+
+}
@@ -0,0 +1,21 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+public interface LobHandle extends AutoCloseable {
+	
+	long size() throws IOException;
+	
+	InputStream openStream() throws IOException;
+	
+	long transferTo(WritableByteChannel target) throws IOException;
+	
+	int read(long position, ByteBuffer target) throws IOException;
+	
+	@Override
+	void close();
+
+}
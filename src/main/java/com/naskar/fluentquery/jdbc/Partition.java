@@ -0,0 +1,10 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.util.function.Function;
+
+@FunctionalInterface
+public interface Partition<T> {
+	
+	void scan(Function<T, Boolean> tHandler);
+
+}
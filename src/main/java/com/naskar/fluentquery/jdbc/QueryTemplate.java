@@ -0,0 +1,16 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.util.List;
+import java.util.function.Function;
+
+public interface QueryTemplate<P, T> {
+	
+	String getSql();
+	
+	T single(P params);
+	
+	List<T> list(P params);
+	
+	void list(P params, Function<T, Boolean> tHandler);
+
+}
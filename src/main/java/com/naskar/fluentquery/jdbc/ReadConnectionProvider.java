@@ -0,0 +1,11 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.sql.Connection;
+
+public interface ReadConnectionProvider extends ConnectionProvider {
+	
+	Connection getReadConnection();
+	
+	void releaseReadConnection(Connection conn, boolean failed);
+
+}
@@ -1,10 +1,14 @@
 package com.naskar.fluentquery.jdbc;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 
 @FunctionalInterface
 public interface ResultSetHandler {
 	
 	boolean next(ResultSet rs);
+	
+	default void start(ResultSet rs) throws SQLException {
+	}
 
 }
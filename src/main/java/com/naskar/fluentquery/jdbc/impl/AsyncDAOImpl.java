@@ -0,0 +1,226 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.naskar.fluentquery.Delete;
+import com.naskar.fluentquery.Into;
+import com.naskar.fluentquery.Query;
+import com.naskar.fluentquery.Update;
+import com.naskar.fluentquery.jdbc.AsyncDAO;
+import com.naskar.fluentquery.jdbc.ConnectionScope;
+import com.naskar.fluentquery.jdbc.DAO;
+import com.naskar.fluentquery.jdbc.Partition;
+
+public class AsyncDAOImpl implements AsyncDAO {
+
+	private static final Logger logger = Logger.getLogger(AsyncDAOImpl.class.getName());
+
+	interface Unit {
+		<R> R run(Function<DAO, R> work);
+	}
+
+	private DAO dao;
+	private Unit unit;
+	private Executor executor;
+	private int scanBufferSize = 1024;
+
+	public AsyncDAOImpl(DAO dao, ConnectionScope scope, Executor executor) {
+		this(dao, scope, executor, true);
+	}
+
+	public AsyncDAOImpl(DAO dao, ConnectionScope scope, Executor executor, boolean transacional) {
+		this.dao = dao;
+		this.executor = executor;
+
+		Unit target = new Unit() {
+
+			@Override
+			public <R> R run(Function<DAO, R> work) {
+				return work.apply(AsyncDAOImpl.this.dao);
+			}
+
+		};
+
+		this.unit = (Unit) Proxy.newProxyInstance(Unit.class.getClassLoader(),
+				new Class<?>[] { Unit.class },
+				new ConnectionManagerInvocationHandler(target, scope, transacional));
+	}
+
+	public DAO getDAO() {
+		return dao;
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+	
+	public void setScanBufferSize(int scanBufferSize) {
+		this.scanBufferSize = scanBufferSize;
+	}
+
+	@Override
+	public <R> CompletableFuture<R> submit(Function<DAO, R> work) {
+		return CompletableFuture.supplyAsync(() -> unit.run(work), executor);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> single(Query<T> query) {
+		return submit(d -> d.single(query));
+	}
+
+	@Override
+	public <T> CompletableFuture<List<T>> list(Query<T> query) {
+		return submit(d -> d.list(query));
+	}
+
+	@Override
+	public <T, R> CompletableFuture<List<R>> list(Query<T> query, Class<R> clazz) {
+		return submit(d -> d.list(query, clazz));
+	}
+
+	@Override
+	public <T, R> Stream<T> parallelScan(Query<T> query, Function<T, R> property, int partitions) {
+		List<Partition<T>> parts = dao.partition(query, property, partitions);
+		PartitionMerger<T> merger = new PartitionMerger<T>(parts.size(), scanBufferSize);
+		Thread caller = Thread.currentThread();
+		
+		for(Partition<T> part : parts) {
+			try {
+				scan(caller, d -> {
+					try {
+						part.scan(merger::offer);
+						merger.done(null);
+					} catch(RuntimeException | Error e) {
+						merger.done(e);
+					}
+					return null;
+				}).whenComplete((r, e) -> {
+					if(e != null) {
+						merger.done(e);
+					}
+				});
+				
+			} catch(RuntimeException e) {
+				merger.close();
+				throw e;
+			}
+		}
+		
+		return merger.stream();
+	}
+	
+	@Override
+	public <T, R, A> CompletableFuture<A> parallelScan(Query<T> query, Function<T, R> property, int partitions, 
+			Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+		List<Partition<T>> parts = dao.partition(query, property, partitions);
+		List<CompletableFuture<A>> futures = new ArrayList<CompletableFuture<A>>(parts.size());
+		Thread caller = Thread.currentThread();
+		
+		for(Partition<T> part : parts) {
+			futures.add(scan(caller, d -> {
+				A a = supplier.get();
+				part.scan(t -> {
+					accumulator.accept(a, t);
+					return true;
+				});
+				return a;
+			}));
+		}
+		
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+				.thenApply(v -> {
+					A result = supplier.get();
+					for(CompletableFuture<A> f : futures) {
+						result = combiner.apply(result, f.join());
+					}
+					return result;
+				});
+	}
+	
+	private <R> CompletableFuture<R> scan(Thread caller, Function<DAO, R> work) {
+		return CompletableFuture.supplyAsync(() -> {
+			if(Thread.currentThread() == caller) {
+				throw new RejectedExecutionException("Partition rejected: parallelScan needs an executor "
+						+ "that runs each partition on its own thread, not on the caller.");
+			}
+			return unit.run(work);
+		}, executor);
+	}
+	
+	@Override
+	public <T> CompletableFuture<Void> execute(Into<T> into) {
+		return submit(d -> {
+			d.execute(into);
+			return null;
+		});
+	}
+
+	@Override
+	public <T> CompletableFuture<Void> execute(Update<T> update) {
+		return submit(d -> {
+			d.execute(update);
+			return null;
+		});
+	}
+
+	@Override
+	public <T> CompletableFuture<Void> execute(Delete<T> delete) {
+		return submit(d -> {
+			d.execute(delete);
+			return null;
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> execute(String sql, List<Object> params) {
+		return submit(d -> {
+			d.execute(sql, params);
+			return null;
+		});
+	}
+
+	public static ExecutorService newBoundedExecutor(int threads, int queueSize) {
+		AtomicInteger count = new AtomicInteger();
+
+		ThreadFactory factory = (r) -> {
+			Thread t = new Thread(r, "fluent-query-async-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		};
+
+		return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize), factory,
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	public static ExecutorService newVirtualThreadExecutor(int fallbackThreads, int fallbackQueueSize) {
+		try {
+			Method m = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) m.invoke(null);
+
+		} catch(Exception e) {
+			logger.log(Level.FINE, "Virtual threads not available, using a bounded pool.", e);
+			return newBoundedExecutor(fallbackThreads, fallbackQueueSize);
+		}
+	}
+
+}
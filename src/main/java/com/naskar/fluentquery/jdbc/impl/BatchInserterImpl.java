@@ -0,0 +1,163 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.converters.NativeSQLResult;
+import com.naskar.fluentquery.jdbc.BatchHandler;
+import com.naskar.fluentquery.jdbc.BatchInserter;
+import com.naskar.fluentquery.jdbc.ConnectionProvider;
+import com.naskar.fluentquery.jdbc.ExecutionEvent;
+import com.naskar.fluentquery.jdbc.ExecutionListener;
+
+public class BatchInserterImpl<T> implements BatchInserter<T> {
+
+	private static final Logger logger = Logger.getLogger(BatchInserterImpl.class.getName());
+
+	private static final int[] EMPTY = new int[0];
+
+	private ConnectionProvider connectionProvider;
+	private Function<T, NativeSQLResult> binder;
+	private int batchSize;
+	private BatchHandler handler;
+	private String suffix = "";
+	private List<ExecutionListener> listeners = Collections.emptyList();
+
+	private String sql;
+	private PreparedStatement st;
+	private int pending;
+	private List<Closeable> opened;
+
+	public BatchInserterImpl(ConnectionProvider connectionProvider,
+			Function<T, NativeSQLResult> binder, int batchSize, BatchHandler handler) {
+		if(batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+		}
+
+		this.connectionProvider = connectionProvider;
+		this.binder = binder;
+		this.batchSize = batchSize;
+		this.handler = handler;
+		this.opened = new ArrayList<Closeable>();
+	}
+
+	public void setSuffix(String suffix) {
+		this.suffix = suffix;
+	}
+
+	public void setListeners(List<ExecutionListener> listeners) {
+		this.listeners = listeners;
+	}
+
+	@Override
+	public void add(T t) {
+		NativeSQLResult result = binder.apply(t);
+		String resultSql = result.sqlValues() + suffix;
+
+		try {
+			if(st != null && !sql.equals(resultSql)) {
+				flush();
+				closeStatement();
+			}
+
+			if(st == null) {
+				sql = resultSql;
+				st = connectionProvider.getConnection().prepareStatement(sql);
+
+				if(logger.isLoggable(Level.INFO)) {
+					logger.info("SQL:" + sql + "\nBatch: " + batchSize);
+				}
+			}
+
+			DAOImpl.addParams(st, result.values(), opened);
+			st.addBatch();
+			pending++;
+
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "SQL:" + resultSql + "\nParams:" + result.values(), e);
+			throw new RuntimeException(e);
+		}
+
+		if(pending >= batchSize) {
+			flush();
+		}
+	}
+
+	@Override
+	public int[] flush() {
+		if(pending == 0) {
+			return EMPTY;
+		}
+
+		ExecutionEvent event = DAOImpl.before(listeners, ExecutionEvent.Type.BATCH, sql, null);
+		long start = event != null ? System.nanoTime() : 0L;
+
+		int[] counts = null;
+		try {
+			counts = st.executeBatch();
+
+		} catch(Exception e) {
+			if(event != null) {
+				event.setError(e);
+			}
+			logger.log(Level.SEVERE, "SQL:" + sql, e);
+
+			try {
+				st.clearBatch();
+			} catch(Exception ec) {
+				logger.log(Level.SEVERE, "Error on clear batch.", ec);
+			}
+
+			throw new RuntimeException(e);
+
+		} finally {
+			pending = 0;
+			DAOImpl.close(opened);
+
+			if(event != null) {
+				event.setExecuteNanos(System.nanoTime() - start);
+				event.setRowCount(DAOImpl.rowCount(counts));
+				DAOImpl.after(listeners, event);
+			}
+		}
+
+		if(logger.isLoggable(Level.INFO)) {
+			logger.info("SQL: Batch Count: " + counts.length);
+		}
+
+		if(handler != null) {
+			handler.handle(counts);
+		}
+
+		return counts;
+	}
+
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			closeStatement();
+		}
+	}
+
+	private void closeStatement() {
+		if(st != null) {
+			try {
+				st.close();
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on close Statement.", e);
+			}
+			st = null;
+			pending = 0;
+			DAOImpl.close(opened);
+		}
+	}
+
+}
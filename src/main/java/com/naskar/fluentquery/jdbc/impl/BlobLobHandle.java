@@ -0,0 +1,96 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.sql.Blob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.LobHandle;
+
+public class BlobLobHandle implements LobHandle {
+
+	private static final Logger logger = Logger.getLogger(BlobLobHandle.class.getName());
+
+	private Blob blob;
+	private ResultSet rs;
+
+	public BlobLobHandle(Blob blob) {
+		this(blob, null);
+	}
+
+	public BlobLobHandle(Blob blob, ResultSet rs) {
+		this.blob = blob;
+		this.rs = rs;
+	}
+
+	@Override
+	public long size() throws IOException {
+		check();
+		try {
+			return blob.length();
+		} catch(SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public InputStream openStream() throws IOException {
+		check();
+		try {
+			return blob.getBinaryStream();
+		} catch(SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public long transferTo(WritableByteChannel target) throws IOException {
+		try(InputStream is = openStream()) {
+			return LobReader.transfer(is, target);
+		}
+	}
+
+	@Override
+	public int read(long position, ByteBuffer target) throws IOException {
+		check();
+		try {
+			long length = blob.length();
+			if(position >= length) {
+				return -1;
+			}
+
+			int n = (int) Math.min(target.remaining(), length - position);
+			target.put(blob.getBytes(position + 1, n));
+			return n;
+
+		} catch(SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private void check() throws IOException {
+		try {
+			if(rs != null && rs.isClosed()) {
+				throw new IOException("Lazy LOB read after its ResultSet was closed: "
+						+ "read it inside the list callback or before closing the stream.");
+			}
+		} catch(SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			blob.free();
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on free Blob.", e);
+		}
+	}
+
+}
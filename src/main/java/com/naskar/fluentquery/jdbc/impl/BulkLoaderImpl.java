@@ -0,0 +1,85 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.BulkCopy;
+import com.naskar.fluentquery.jdbc.BulkLoader;
+import com.naskar.fluentquery.jdbc.ConnectionProvider;
+import com.naskar.fluentquery.jdbc.ExecutionEvent;
+import com.naskar.fluentquery.jdbc.ExecutionListener;
+
+public class BulkLoaderImpl<T> implements BulkLoader<T> {
+
+	private static final Logger logger = Logger.getLogger(BulkLoaderImpl.class.getName());
+
+	private ConnectionProvider connectionProvider;
+	private BulkCopy copy;
+	private String table;
+	private List<String> columns;
+	private Function<T, List<Object>> values;
+	private List<ExecutionListener> listeners = Collections.emptyList();
+
+	public BulkLoaderImpl(ConnectionProvider connectionProvider, BulkCopy copy,
+			String table, List<String> columns, Function<T, List<Object>> values) {
+		this.connectionProvider = connectionProvider;
+		this.copy = copy;
+		this.table = table;
+		this.columns = columns;
+		this.values = values;
+	}
+
+	public void setListeners(List<ExecutionListener> listeners) {
+		this.listeners = listeners;
+	}
+
+	public String getTable() {
+		return table;
+	}
+
+	public List<String> getColumns() {
+		return columns;
+	}
+
+	@Override
+	public long load(Iterable<T> items) {
+		if(logger.isLoggable(Level.INFO)) {
+			logger.info("SQL: Bulk load: " + table + " " + columns);
+		}
+
+		ExecutionEvent event = DAOImpl.before(listeners, ExecutionEvent.Type.BATCH, 
+				"COPY " + table + " (" + String.join(", ", columns) + ")", null);
+		long start = event != null ? System.nanoTime() : 0L;
+
+		try(CsvReader<T> csv = new CsvReader<T>(items, values)) {
+			long count = copy.copy(connectionProvider.getConnection(), table, columns, csv);
+
+			if(logger.isLoggable(Level.INFO)) {
+				logger.info("SQL: Bulk Count: " + count);
+			}
+
+			if(event != null) {
+				event.setRowCount(count);
+			}
+
+			return count;
+
+		} catch(Exception e) {
+			if(event != null) {
+				event.setError(e);
+			}
+			logger.log(Level.SEVERE, "Bulk load: " + table + " " + columns, e);
+			throw new RuntimeException(e);
+
+		} finally {
+			if(event != null) {
+				event.setExecuteNanos(System.nanoTime() - start);
+				DAOImpl.after(listeners, event);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ClassBinding<T> {
+
+	private static final int MAX_BINDINGS = 256;
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final int OBJECT = 0;
+	private static final int LONG = 1;
+	private static final int INT = 2;
+	private static final int DOUBLE = 3;
+	private static final int BOOLEAN = 4;
+
+	private static final Map<Class<?>, Map<String, ClassBinding<?>>> bindings =
+			new ConcurrentHashMap<Class<?>, Map<String, ClassBinding<?>>>();
+
+	private MethodHandle constructor;
+	private int[] indexes;
+	private Class<?>[] types;
+	private boolean[] primitives;
+	private int[] kinds;
+	private MethodHandle[] setters;
+
+	private ClassBinding(Class<T> clazz, ResultSetMetaData md) throws SQLException {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		try {
+			Constructor<T> c = clazz.getDeclaredConstructor();
+			c.setAccessible(true);
+			this.constructor = lookup.unreflectConstructor(c).asType(CONSTRUCTOR_TYPE);
+
+			Map<String, Field> fields = getFields(clazz);
+
+			List<Integer> indexes = new ArrayList<Integer>();
+			List<Field> bound = new ArrayList<Field>();
+
+			for(int i = 1; i <= md.getColumnCount(); i++) {
+				Field f = fields.get(md.getColumnLabel(i).toUpperCase());
+				if(f != null) {
+					indexes.add(i);
+					bound.add(f);
+				}
+			}
+
+			this.indexes = new int[bound.size()];
+			this.types = new Class<?>[bound.size()];
+			this.primitives = new boolean[bound.size()];
+			this.kinds = new int[bound.size()];
+			this.setters = new MethodHandle[bound.size()];
+
+			for(int i = 0; i < bound.size(); i++) {
+				Field f = bound.get(i);
+				f.setAccessible(true);
+
+				this.indexes[i] = indexes.get(i);
+				this.primitives[i] = f.getType().isPrimitive();
+				this.types[i] = MethodType.methodType(f.getType()).wrap().returnType();
+				this.kinds[i] = getKind(this.types[i]);
+
+				MethodHandle setter = lookup.unreflectSetter(f);
+				if(primitives[i] && kinds[i] != OBJECT) {
+					this.setters[i] = setter.asType(MethodType.methodType(void.class, Object.class, f.getType()));
+				} else {
+					this.setters[i] = setter.asType(SETTER_TYPE);
+				}
+			}
+
+		} catch(NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot bind: " + clazz.getName(), e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> ClassBinding<T> get(Class<T> clazz, ResultSet rs) throws SQLException {
+		Map<String, ClassBinding<?>> byLabels = bindings.get(clazz);
+		if(byLabels == null) {
+			byLabels = new ConcurrentHashMap<String, ClassBinding<?>>();
+			Map<String, ClassBinding<?>> current = bindings.putIfAbsent(clazz, byLabels);
+			if(current != null) {
+				byLabels = current;
+			}
+		}
+
+		ResultSetMetaData md = rs.getMetaData();
+		String labels = getLabels(md);
+
+		ClassBinding<T> binding = (ClassBinding<T>) byLabels.get(labels);
+		if(binding == null) {
+			binding = new ClassBinding<T>(clazz, md);
+
+			if(byLabels.size() >= MAX_BINDINGS) {
+				byLabels.clear();
+			}
+			byLabels.put(labels, binding);
+		}
+
+		return binding;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T toObject(ResultSet rs) throws Throwable {
+		T r = (T) constructor.invokeExact();
+
+		for(int i = 0; i < setters.length; i++) {
+			if(primitives[i] && kinds[i] != OBJECT) {
+				setPrimitive(r, i, rs);
+				continue;
+			}
+
+			Object value = getValue(rs, i);
+			if(value != null || !primitives[i]) {
+				setters[i].invokeExact((Object) r, value);
+			}
+		}
+
+		return r;
+	}
+
+	private void setPrimitive(Object r, int i, ResultSet rs) throws Throwable {
+		int index = indexes[i];
+
+		switch(kinds[i]) {
+			case LONG:
+				long l = rs.getLong(index);
+				if(!rs.wasNull()) {
+					setters[i].invokeExact(r, l);
+				}
+				break;
+
+			case INT:
+				int n = rs.getInt(index);
+				if(!rs.wasNull()) {
+					setters[i].invokeExact(r, n);
+				}
+				break;
+
+			case DOUBLE:
+				double d = rs.getDouble(index);
+				if(!rs.wasNull()) {
+					setters[i].invokeExact(r, d);
+				}
+				break;
+
+			case BOOLEAN:
+				boolean b = rs.getBoolean(index);
+				if(!rs.wasNull()) {
+					setters[i].invokeExact(r, b);
+				}
+				break;
+		}
+	}
+
+	private Object getValue(ResultSet rs, int i) throws SQLException {
+		int index = indexes[i];
+		Object value;
+
+		switch(kinds[i]) {
+			case LONG:
+				value = rs.getLong(index);
+				break;
+
+			case INT:
+				value = rs.getInt(index);
+				break;
+
+			case DOUBLE:
+				value = rs.getDouble(index);
+				break;
+
+			case BOOLEAN:
+				value = rs.getBoolean(index);
+				break;
+
+			default:
+				return rs.getObject(index, types[i]);
+		}
+
+		return rs.wasNull() ? null : value;
+	}
+
+	private static int getKind(Class<?> type) {
+		if(type == Long.class) {
+			return LONG;
+		} else if(type == Integer.class) {
+			return INT;
+		} else if(type == Double.class) {
+			return DOUBLE;
+		} else if(type == Boolean.class) {
+			return BOOLEAN;
+		}
+		return OBJECT;
+	}
+
+	private static String getLabels(ResultSetMetaData md) throws SQLException {
+		StringBuilder sb = new StringBuilder();
+
+		for(int i = 1; i <= md.getColumnCount(); i++) {
+			sb.append(md.getColumnLabel(i)).append(',');
+		}
+
+		return sb.toString();
+	}
+
+	private static Map<String, Field> getFields(Class<?> clazz) {
+		Map<String, Field> m = new HashMap<String, Field>();
+
+		for(Field f : clazz.getDeclaredFields()) {
+			if(!Modifier.isStatic(f.getModifiers()) && !Modifier.isFinal(f.getModifiers())) {
+				m.put(f.getName().toUpperCase(), f);
+			}
+		}
+
+		return m;
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.naskar.fluentquery.jdbc.ColumnarResult;
+import com.naskar.fluentquery.jdbc.ColumnarResult.Type;
+import com.naskar.fluentquery.jdbc.ResultSetHandler;
+
+public class ColumnarResultBuilder implements ResultSetHandler {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private String[] names;
+	private Type[] types;
+	private Object[] values;
+	private BitSet[] nulls;
+
+	private int rowCount;
+	private int capacity;
+
+	@Override
+	public void start(ResultSet rs) throws SQLException {
+		ResultSetMetaData md = rs.getMetaData();
+		int count = md.getColumnCount();
+
+		this.names = new String[count];
+		this.types = new Type[count];
+		this.values = new Object[count];
+		this.nulls = new BitSet[count];
+		this.rowCount = 0;
+		this.capacity = INITIAL_CAPACITY;
+
+		for(int c = 0; c < count; c++) {
+			names[c] = md.getColumnLabel(c + 1);
+			types[c] = getType(md, c + 1);
+			nulls[c] = new BitSet();
+
+			switch(types[c]) {
+				case LONG: values[c] = new long[capacity]; break;
+				case INT: values[c] = new int[capacity]; break;
+				case DOUBLE: values[c] = new double[capacity]; break;
+				default: values[c] = new Object[capacity]; break;
+			}
+		}
+	}
+
+	@Override
+	public boolean next(ResultSet rs) {
+		try {
+			if(names == null) {
+				start(rs);
+			}
+
+			add(rs);
+			return true;
+
+		} catch(SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public ColumnarResult build() {
+		if(names == null) {
+			return new ColumnarResult(new String[0], new Type[0], new Object[0], new BitSet[0], 0);
+		}
+
+		if(capacity > rowCount) {
+			grow(rowCount);
+		}
+
+		return new ColumnarResult(names, types, values, nulls, rowCount);
+	}
+
+	private void add(ResultSet rs) throws SQLException {
+		if(rowCount == capacity) {
+			grow(Math.max(INITIAL_CAPACITY, capacity * 2));
+		}
+
+		int row = rowCount;
+
+		for(int c = 0; c < values.length; c++) {
+			int i = c + 1;
+
+			switch(types[c]) {
+				case LONG:
+					((long[]) values[c])[row] = rs.getLong(i);
+					break;
+
+				case INT:
+					((int[]) values[c])[row] = rs.getInt(i);
+					break;
+
+				case DOUBLE:
+					((double[]) values[c])[row] = rs.getDouble(i);
+					break;
+
+				default:
+					((Object[]) values[c])[row] = rs.getObject(i);
+					break;
+			}
+
+			if(rs.wasNull()) {
+				nulls[c].set(row);
+			}
+		}
+
+		rowCount++;
+	}
+
+	private void grow(int size) {
+		for(int c = 0; c < values.length; c++) {
+			switch(types[c]) {
+				case LONG: values[c] = Arrays.copyOf((long[]) values[c], size); break;
+				case INT: values[c] = Arrays.copyOf((int[]) values[c], size); break;
+				case DOUBLE: values[c] = Arrays.copyOf((double[]) values[c], size); break;
+				default: values[c] = Arrays.copyOf((Object[]) values[c], size); break;
+			}
+		}
+		capacity = size;
+	}
+
+	private static Type getType(ResultSetMetaData md, int i) throws SQLException {
+		switch(md.getColumnType(i)) {
+			case Types.BIGINT:
+				return Type.LONG;
+
+			case Types.INTEGER:
+			case Types.SMALLINT:
+			case Types.TINYINT:
+				return Type.INT;
+
+			case Types.DOUBLE:
+			case Types.FLOAT:
+			case Types.REAL:
+				return Type.DOUBLE;
+
+			case Types.DECIMAL:
+			case Types.NUMERIC:
+				int precision = md.getPrecision(i);
+				if(md.getScale(i) == 0 && precision > 0 && precision <= 18) {
+					return Type.LONG;
+				}
+				return Type.OBJECT;
+
+			default:
+				return Type.OBJECT;
+		}
+	}
+
+}
@@ -4,14 +4,25 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.naskar.fluentquery.jdbc.ConnectionScope;
+import com.naskar.fluentquery.jdbc.ReadOnly;
 
 public class ConnectionManagerInvocationHandler implements InvocationHandler {
 	
+	private static final Logger logger = Logger.getLogger(ConnectionManagerInvocationHandler.class.getName());
+	
 	private Object target;
 	private ConnectionScope scope;
 	private boolean transacional = true;
+	private Predicate<Method> readOnlyPolicy;
+	private Map<Method, Boolean> readOnlyMethods;
+	private QueryCache queryCache;
 	
 	public ConnectionManagerInvocationHandler(Object target, ConnectionScope scope) {
 		this(target, scope, true);
@@ -21,6 +32,16 @@ public class ConnectionManagerInvocationHandler implements InvocationHandler {
 		this.target = target;
 		this.scope = scope;
 		this.transacional = transacional;
+		this.readOnlyMethods = new ConcurrentHashMap<Method, Boolean>();
+	}
+	
+	public void setReadOnlyPolicy(Predicate<Method> readOnlyPolicy) {
+		this.readOnlyPolicy = readOnlyPolicy;
+		this.readOnlyMethods.clear();
+	}
+	
+	public void setQueryCache(QueryCache queryCache) {
+		this.queryCache = queryCache;
 	}
 	
 	@Override
@@ -28,32 +49,50 @@ public class ConnectionManagerInvocationHandler implements InvocationHandler {
 		Object result = null;
 		
 		Connection conn = null;
+		boolean readOnly = false;
+		boolean cacheScope = false;
 		try {
-			scope.begin(this);
+			scope.begin(this, isReadOnly(method));
+			readOnly = scope.isReadOnly();
+			
+			if(queryCache != null && transacional && !readOnly) {
+				cacheScope = queryCache.begin();
+			}
 			
 			result = method.invoke(target, args);
 			
 			conn = scope.end(this);
 			
 			if(conn != null) {
-				if(transacional) {
+				if(transacional && !readOnly) {
 					conn.commit();
 				}
 			}
 			
+			if(cacheScope) {
+				queryCache.commit();
+			}
+			
 		} catch(Exception e) {
 			
+			if(conn == null) {
+				conn = scope.end(this);
+			}
+			
 			if(conn != null) {
-				if(transacional) {
+				if(transacional && !readOnly) {
 					try {
 						conn.rollback();
 					} catch(Exception et) {
-						// TODO: logger;
-						et.printStackTrace();
+						logger.log(Level.SEVERE, "Error on rollback Connection.", et);
 					}
 				}
 			}
 			
+			if(cacheScope) {
+				queryCache.rollback();
+			}
+			
 			if(e instanceof InvocationTargetException) {
 				throw ((InvocationTargetException)e).getTargetException();
 			} else {
@@ -61,12 +100,23 @@ public class ConnectionManagerInvocationHandler implements InvocationHandler {
 			}
 			
 		} finally {
+			if(cacheScope) {
+				queryCache.end();
+			}
+			
 			if(conn != null) {
+				if(readOnly) {
+					try {
+						conn.setReadOnly(false);
+					} catch(Exception et) {
+						logger.log(Level.SEVERE, "Error on reset read-only Connection.", et);
+					}
+				}
+				
 				try {
 					conn.close();
 				} catch(Exception et) {
-					// TODO: logger;
-					et.printStackTrace();
+					logger.log(Level.SEVERE, "Error on close Connection.", et);
 				}
 			}
 		}
@@ -77,5 +127,32 @@ public class ConnectionManagerInvocationHandler implements InvocationHandler {
 	public Object getTarget() {
 		return this.target;
 	}
+	
+	private boolean isReadOnly(Method method) {
+		Boolean readOnly = readOnlyMethods.get(method);
+		
+		if(readOnly == null) {
+			readOnly = method.isAnnotationPresent(ReadOnly.class) 
+					|| method.getDeclaringClass().isAnnotationPresent(ReadOnly.class);
+			
+			if(!readOnly) {
+				try {
+					Method m = target.getClass().getMethod(method.getName(), method.getParameterTypes());
+					readOnly = m.isAnnotationPresent(ReadOnly.class) 
+							|| m.getDeclaringClass().isAnnotationPresent(ReadOnly.class);
+				} catch(NoSuchMethodException e) {
+					readOnly = false;
+				}
+			}
+			
+			if(!readOnly && readOnlyPolicy != null) {
+				readOnly = readOnlyPolicy.test(method);
+			}
+			
+			readOnlyMethods.put(method, readOnly);
+		}
+		
+		return readOnly;
+	}
 
 }
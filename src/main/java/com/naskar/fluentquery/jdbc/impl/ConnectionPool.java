@@ -0,0 +1,546 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.ConnectionProvider;
+
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+
+	private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+	private Supplier<Connection> factory;
+	private int minSize;
+	private int maxSize;
+	private long borrowTimeout = 30000L;
+	private long validationIdleTime = 5000L;
+	private int validationTimeout = 5;
+	private int statementCacheSize;
+
+	private ConcurrentLinkedDeque<Pooled> idle;
+	private Semaphore permits;
+	private AtomicInteger total;
+	private AtomicInteger active;
+	private volatile boolean closed;
+
+	private LongAdder borrows;
+	private LongAdder timeouts;
+	private LongAdder waitNanos;
+	private AtomicLong maxWaitNanos;
+
+	public ConnectionPool(Supplier<Connection> factory, int minSize, int maxSize) {
+		if(minSize < 0 || maxSize < 1 || minSize > maxSize) {
+			throw new IllegalArgumentException("Invalid pool size: " + minSize + ".." + maxSize);
+		}
+
+		this.factory = factory;
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+
+		this.idle = new ConcurrentLinkedDeque<Pooled>();
+		this.permits = new Semaphore(maxSize, true);
+		this.total = new AtomicInteger();
+		this.active = new AtomicInteger();
+
+		this.borrows = new LongAdder();
+		this.timeouts = new LongAdder();
+		this.waitNanos = new LongAdder();
+		this.maxWaitNanos = new AtomicLong();
+
+		try {
+			for(int i = 0; i < minSize; i++) {
+				idle.offerLast(create());
+			}
+		} catch(RuntimeException e) {
+			Pooled p;
+			while((p = idle.pollFirst()) != null) {
+				discard(p);
+			}
+			throw e;
+		}
+	}
+
+	public void setBorrowTimeout(long borrowTimeout) {
+		this.borrowTimeout = borrowTimeout;
+	}
+
+	public void setValidationIdleTime(long validationIdleTime) {
+		this.validationIdleTime = validationIdleTime;
+	}
+
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	@Override
+	public Connection getConnection() {
+		if(closed) {
+			throw new IllegalStateException("Pool closed.");
+		}
+
+		long start = System.nanoTime();
+		try {
+			if(!permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+				timeouts.increment();
+				throw new RuntimeException("Timeout waiting for connection: " + borrowTimeout + "ms");
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+
+		long wait = System.nanoTime() - start;
+		waitNanos.add(wait);
+		borrows.increment();
+		if(wait > maxWaitNanos.get()) {
+			maxWaitNanos.accumulateAndGet(wait, Math::max);
+		}
+
+		try {
+			Pooled p;
+			while((p = idle.pollFirst()) != null) {
+				if(validate(p)) {
+					break;
+				}
+				discard(p);
+			}
+
+			if(p == null) {
+				p = create();
+			}
+
+			active.incrementAndGet();
+
+			if(total.get() < minSize) {
+				fill();
+			}
+
+			return p.borrow();
+
+		} catch(RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+
+		Pooled p;
+		while((p = idle.pollFirst()) != null) {
+			discard(p);
+		}
+	}
+
+	public int getActiveCount() {
+		return active.get();
+	}
+
+	public int getIdleCount() {
+		return idle.size();
+	}
+
+	public int getTotalCount() {
+		return total.get();
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getBorrowCount() {
+		return borrows.sum();
+	}
+
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	public long getTotalWaitNanos() {
+		return waitNanos.sum();
+	}
+
+	public long getMaxWaitNanos() {
+		return maxWaitNanos.get();
+	}
+
+	private Pooled create() {
+		Connection conn = factory.get();
+		try {
+			Pooled p = new Pooled(conn, conn.getAutoCommit(), conn.isReadOnly());
+			total.incrementAndGet();
+			return p;
+
+		} catch(SQLException e) {
+			closePhysical(conn);
+			throw new RuntimeException(e);
+		}
+	}
+
+	private boolean validate(Pooled p) {
+		if(System.currentTimeMillis() - p.lastUsed < validationIdleTime) {
+			return true;
+		}
+
+		try {
+			return p.conn.isValid(validationTimeout);
+		} catch(Exception e) {
+			return false;
+		}
+	}
+
+	private void release(Pooled p) {
+		active.decrementAndGet();
+
+		try {
+			if(closed || !reset(p)) {
+				discard(p);
+				fill();
+			} else {
+				p.lastUsed = System.currentTimeMillis();
+				idle.offerFirst(p);
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	private boolean reset(Pooled p) {
+		try {
+			Connection conn = p.conn;
+
+			if(conn.isClosed()) {
+				return false;
+			}
+
+			if(!conn.getAutoCommit()) {
+				conn.rollback();
+			}
+
+			if(conn.getAutoCommit() != p.autoCommit) {
+				conn.setAutoCommit(p.autoCommit);
+			}
+
+			if(conn.isReadOnly() != p.readOnly) {
+				conn.setReadOnly(p.readOnly);
+			}
+
+			conn.clearWarnings();
+
+			return true;
+
+		} catch(Exception e) {
+			logger.log(Level.WARNING, "Error on reset Connection.", e);
+			return false;
+		}
+	}
+
+	private synchronized void fill() {
+		while(!closed && total.get() < minSize) {
+			try {
+				idle.offerLast(create());
+			} catch(RuntimeException e) {
+				logger.log(Level.WARNING, "Error on refill pool.", e);
+				return;
+			}
+		}
+	}
+
+	private void discard(Pooled p) {
+		total.decrementAndGet();
+		closePhysical(p.conn);
+	}
+
+	private static void closePhysical(Connection conn) {
+		try {
+			conn.close();
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on close Connection.", e);
+		}
+	}
+
+	private class Pooled {
+
+		private Connection conn;
+		private boolean autoCommit;
+		private boolean readOnly;
+		private volatile long lastUsed;
+		private Map<StatementKey, PreparedStatement> statements;
+
+		public Pooled(Connection conn, boolean autoCommit, boolean readOnly) {
+			this.conn = conn;
+			this.autoCommit = autoCommit;
+			this.readOnly = readOnly;
+			this.lastUsed = System.currentTimeMillis();
+		}
+
+		synchronized PreparedStatement take(StatementKey key) {
+			return statements != null ? statements.remove(key) : null;
+		}
+
+		synchronized boolean offer(StatementKey key, PreparedStatement st) {
+			if(statements == null) {
+				int max = statementCacheSize;
+				statements = new LinkedHashMap<StatementKey, PreparedStatement>(16, 0.75f, true) {
+
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+						if(size() > max) {
+							closeStatement(eldest.getValue());
+							return true;
+						}
+						return false;
+					}
+
+				};
+			}
+
+			if(statements.containsKey(key)) {
+				return false;
+			}
+
+			try {
+				st.clearParameters();
+				st.clearWarnings();
+			} catch(Exception e) {
+				return false;
+			}
+
+			statements.put(key, st);
+			return true;
+		}
+
+		public Connection borrow() {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class }, new Borrowed(this));
+		}
+
+	}
+
+	private class Borrowed implements InvocationHandler {
+
+		private Pooled pooled;
+		private volatile boolean returned;
+		private Set<Statement> statements;
+
+		public Borrowed(Pooled pooled) {
+			this.pooled = pooled;
+			this.statements = Collections.synchronizedSet(
+					Collections.newSetFromMap(new IdentityHashMap<Statement, Boolean>()));
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+
+			if("close".equals(name) && method.getParameterCount() == 0) {
+				if(!returned) {
+					returned = true;
+					closeStatements();
+					release(pooled);
+				}
+				return null;
+			}
+
+			if("isClosed".equals(name) && method.getParameterCount() == 0) {
+				return returned || pooled.conn.isClosed();
+			}
+
+			if("equals".equals(name) && method.getParameterCount() == 1) {
+				return proxy == args[0];
+			}
+
+			if("hashCode".equals(name) && method.getParameterCount() == 0) {
+				return System.identityHashCode(proxy);
+			}
+
+			if(returned) {
+				throw new SQLException("Connection closed.");
+			}
+
+			StatementKey key = null;
+			Object result = null;
+
+			if(statementCacheSize > 0 && "prepareStatement".equals(name) && isCacheable(method)) {
+				key = new StatementKey((String) args[0], args.length > 1 ? (Integer) args[1] : -1);
+				result = pooled.take(key);
+			}
+
+			if(result == null) {
+				try {
+					result = method.invoke(pooled.conn, args);
+				} catch(InvocationTargetException e) {
+					throw e.getTargetException();
+				}
+			}
+
+			if(result instanceof Statement) {
+				Statement st = (Statement) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+						new Class<?>[] { method.getReturnType() }, new Owned(result, proxy, this, key));
+				statements.add(st);
+				return st;
+			}
+
+			if(result instanceof DatabaseMetaData) {
+				return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+						new Class<?>[] { DatabaseMetaData.class }, new Owned(result, proxy, null, null));
+			}
+
+			return result;
+		}
+
+		private void closeStatements() {
+			List<Statement> l;
+			synchronized (statements) {
+				l = new ArrayList<Statement>(statements);
+				statements.clear();
+			}
+
+			for(Statement st : l) {
+				closeStatement(st);
+			}
+		}
+
+	}
+
+	private static boolean isCacheable(Method method) {
+		Class<?>[] types = method.getParameterTypes();
+		return types.length == 1 || (types.length == 2 && types[1] == int.class);
+	}
+
+	private static void closeStatement(Statement st) {
+		try {
+			st.close();
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on close Statement.", e);
+		}
+	}
+
+	private static class StatementKey {
+
+		private String sql;
+		private int autoGeneratedKeys;
+
+		public StatementKey(String sql, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+		}
+
+		@Override
+		public int hashCode() {
+			return sql.hashCode() * 31 + autoGeneratedKeys;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof StatementKey)) {
+				return false;
+			}
+			StatementKey other = (StatementKey) obj;
+			return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+		}
+
+	}
+
+	private static class Owned implements InvocationHandler {
+
+		private Object target;
+		private Object connection;
+		private Borrowed borrowed;
+		private StatementKey key;
+		private volatile boolean closed;
+
+		public Owned(Object target, Object connection, Borrowed borrowed, StatementKey key) {
+			this.target = target;
+			this.connection = connection;
+			this.borrowed = borrowed;
+			this.key = key;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+
+			if("getConnection".equals(name) && method.getParameterCount() == 0) {
+				return connection;
+			}
+
+			if("equals".equals(name) && method.getParameterCount() == 1) {
+				return proxy == args[0];
+			}
+
+			if("hashCode".equals(name) && method.getParameterCount() == 0) {
+				return System.identityHashCode(proxy);
+			}
+
+			if(key != null) {
+				if("isClosed".equals(name) && method.getParameterCount() == 0) {
+					return closed || (Boolean) method.invoke(target, args);
+				}
+
+				if("close".equals(name) && method.getParameterCount() == 0) {
+					if(!closed) {
+						closed = true;
+						borrowed.statements.remove(proxy);
+
+						PreparedStatement st = (PreparedStatement) target;
+						if(st.isClosed() || !borrowed.pooled.offer(key, st)) {
+							closeStatement(st);
+						}
+					}
+					return null;
+				}
+
+				if(closed) {
+					throw new SQLException("Statement closed.");
+				}
+			}
+
+			if("close".equals(name) && method.getParameterCount() == 0 && borrowed != null) {
+				borrowed.statements.remove(proxy);
+			}
+
+			try {
+				return method.invoke(target, args);
+			} catch(InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+
+	}
+
+}
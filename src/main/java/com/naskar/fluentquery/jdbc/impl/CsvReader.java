@@ -0,0 +1,101 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.Reader;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+class CsvReader<T> extends Reader {
+
+	private Iterator<T> items;
+	private Function<T, List<Object>> values;
+
+	private StringBuilder row;
+	private int position;
+	private long count;
+
+	public CsvReader(Iterable<T> items, Function<T, List<Object>> values) {
+		this.items = items.iterator();
+		this.values = values;
+		this.row = new StringBuilder(256);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public int read(char[] buffer, int off, int len) {
+		if(len == 0) {
+			return 0;
+		}
+
+		int read = 0;
+		while(read < len) {
+			if(position == row.length() && !nextRow()) {
+				break;
+			}
+
+			int n = Math.min(len - read, row.length() - position);
+			row.getChars(position, position + n, buffer, off + read);
+			position += n;
+			read += n;
+		}
+
+		return read == 0 ? -1 : read;
+	}
+
+	@Override
+	public void close() {
+		row.setLength(0);
+		position = 0;
+	}
+
+	private boolean nextRow() {
+		if(!items.hasNext()) {
+			return false;
+		}
+
+		row.setLength(0);
+		position = 0;
+
+		List<Object> l = values.apply(items.next());
+		for(int i = 0; i < l.size(); i++) {
+			if(i > 0) {
+				row.append(',');
+			}
+			append(l.get(i));
+		}
+		row.append('\n');
+		count++;
+
+		return true;
+	}
+
+	private void append(Object o) {
+		if(o == null) {
+			return;
+		}
+
+		String s;
+		if(o instanceof Date && !(o instanceof java.sql.Date || o instanceof java.sql.Time)) {
+			s = new java.sql.Timestamp(((Date) o).getTime()).toString();
+		} else if(o instanceof byte[]) {
+			throw new IllegalArgumentException("Type not supported on bulk load: " + o.getClass().getName());
+		} else {
+			s = o.toString();
+		}
+
+		row.append('"');
+		for(int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if(c == '"') {
+				row.append('"');
+			}
+			row.append(c);
+		}
+		row.append('"');
+	}
+
+}
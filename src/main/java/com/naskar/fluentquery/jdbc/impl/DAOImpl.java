@@ -1,24 +1,42 @@
 package com.naskar.fluentquery.jdbc.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,27 +58,54 @@ import com.naskar.fluentquery.converters.NativeSQLResult;
 import com.naskar.fluentquery.converters.NativeSQLUpdate;
 import com.naskar.fluentquery.impl.MethodRecordProxy;
 import com.naskar.fluentquery.impl.TypeUtils;
+import com.naskar.fluentquery.jdbc.BatchHandler;
+import com.naskar.fluentquery.jdbc.BatchInserter;
+import com.naskar.fluentquery.jdbc.BulkCopy;
+import com.naskar.fluentquery.jdbc.BulkLoader;
+import com.naskar.fluentquery.jdbc.ColumnarResult;
 import com.naskar.fluentquery.jdbc.ConnectionProvider;
+import com.naskar.fluentquery.jdbc.ConnectionScope;
 import com.naskar.fluentquery.jdbc.DAO;
+import com.naskar.fluentquery.jdbc.ExecutionEvent;
+import com.naskar.fluentquery.jdbc.ExecutionListener;
 import com.naskar.fluentquery.jdbc.Inserter;
+import com.naskar.fluentquery.jdbc.LobHandle;
+import com.naskar.fluentquery.jdbc.Partition;
 import com.naskar.fluentquery.jdbc.PreparedStatementHandler;
+import com.naskar.fluentquery.jdbc.QueryTemplate;
+import com.naskar.fluentquery.jdbc.ReadConnectionProvider;
 import com.naskar.fluentquery.jdbc.ResultHandler;
 import com.naskar.fluentquery.jdbc.ResultSetHandler;
 import com.naskar.fluentquery.mapping.MappingValueProvider;
-import com.naskar.fluentquery.mapping.MappingValueProvider.ValueProvider;
 
 public class DAOImpl implements DAO {
 	
 	private static final Logger logger = Logger.getLogger(DAOImpl.class.getName());
 	
-	private static final List<Integer> BINARY_TYPES = Arrays.asList(
-			Types.BINARY, Types.LONGVARBINARY, Types.VARBINARY 
-	);
+	private static final int MAX_ROW_MAPPINGS = 256;
+	
+	private static final int LARGE_TEXT = 32 * 1024;
+	
+	private static final Pattern INSERT_COLUMNS = Pattern.compile(
+			"^\\s*insert\\s+into\\s+([^\\s(]+)\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
 	
 	private ConnectionProvider connectionProvider;
 	private MappingConvention mappings;
 	private ResultSetValueConverter resultSetConverter;
 	private PreparedStatementHandler defaultStatementHandler; 
+	private StatementCache statementCache;
+	private QueryCache queryCache;
+	private int maxParams;
+	private int upsertBatchSize;
+	private boolean upsertMultiRow;
+	private int relationBatchSize;
+	private boolean relationArrays;
+	private long lobSpillThreshold;
+	private boolean lazyLobs;
+	private int streamFetchSize;
+	private int streamMaxFetchSize;
+	private boolean streamCancelOnClose;
+	private List<ExecutionListener> listeners;
 	
 	private NativeSQL nativeSQL;	
 	private QueryBuilder queryBuilder;
@@ -77,6 +122,9 @@ public class DAOImpl implements DAO {
 	
 	private BinderSQLBuilder binderBuilder;
 	
+	private Map<Class<?>, Map<String, RowMapping<?>>> rowMappings;
+	private volatile int rowMappingGeneration;
+	
 	public DAOImpl(ConnectionProvider connectionProvider) {
 		this.connectionProvider = connectionProvider;
 		
@@ -104,6 +152,13 @@ public class DAOImpl implements DAO {
 		this.deleteBuilder = new DeleteBuilder();
 		
 		this.binderBuilder = new BinderSQLBuilder();
+		
+		this.rowMappings = new ConcurrentHashMap<Class<?>, Map<String, RowMapping<?>>>();
+		this.listeners = new CopyOnWriteArrayList<ExecutionListener>();
+		this.maxParams = MultiRowInsert.DEFAULT_MAX_PARAMS;
+		this.upsertBatchSize = 1000;
+		this.relationBatchSize = 500;
+		this.lobSpillThreshold = LobReader.DEFAULT_SPILL_THRESHOLD;
 	}
 	
 	public NativeSQL getNativeSQL() {
@@ -124,6 +179,7 @@ public class DAOImpl implements DAO {
 	
 	public <T> void addMapping(MappingValueProvider<T> mapping) {
 		this.mappings.add(mapping);
+		clearRowMappings();
 	}
 	
 	public void setResultSetValueConverter(ResultSetValueConverter resultSetConverter) {
@@ -134,6 +190,78 @@ public class DAOImpl implements DAO {
 		this.defaultStatementHandler = defaultStatementHandler;
 	}
 	
+	public void setStatementCache(StatementCache statementCache) {
+		this.statementCache = statementCache;
+		
+		if(connectionProvider instanceof LazyThreadLocalConnectionProvider) {
+			((LazyThreadLocalConnectionProvider) connectionProvider).setStatementCache(statementCache);
+		} else if(connectionProvider instanceof RoutingConnectionProvider) {
+			((RoutingConnectionProvider) connectionProvider).setStatementCache(statementCache);
+		}
+	}
+	
+	public StatementCache getStatementCache() {
+		return statementCache;
+	}
+	
+	public void setQueryCache(QueryCache queryCache) {
+		this.queryCache = queryCache;
+	}
+	
+	public QueryCache getQueryCache() {
+		return queryCache;
+	}
+	
+	public void setMaxParams(int maxParams) {
+		this.maxParams = maxParams;
+	}
+	
+	public void setUpsertBatchSize(int upsertBatchSize) {
+		this.upsertBatchSize = upsertBatchSize;
+	}
+	
+	public void setUpsertMultiRow(boolean upsertMultiRow) {
+		this.upsertMultiRow = upsertMultiRow;
+	}
+	
+	public void setRelationBatchSize(int relationBatchSize) {
+		this.relationBatchSize = relationBatchSize;
+	}
+	
+	public void setRelationArrays(boolean relationArrays) {
+		this.relationArrays = relationArrays;
+	}
+	
+	public void setLobSpillThreshold(long lobSpillThreshold) {
+		this.lobSpillThreshold = lobSpillThreshold;
+		clearRowMappings();
+	}
+	
+	public void setLazyLobs(boolean lazyLobs) {
+		this.lazyLobs = lazyLobs;
+		clearRowMappings();
+	}
+	
+	public void setStreamFetchSize(int streamFetchSize) {
+		this.streamFetchSize = streamFetchSize;
+	}
+	
+	public void setStreamMaxFetchSize(int streamMaxFetchSize) {
+		this.streamMaxFetchSize = streamMaxFetchSize;
+	}
+	
+	public void setStreamCancelOnClose(boolean streamCancelOnClose) {
+		this.streamCancelOnClose = streamCancelOnClose;
+	}
+	
+	public void addExecutionListener(ExecutionListener listener) {
+		this.listeners.add(listener);
+	}
+	
+	public void removeExecutionListener(ExecutionListener listener) {
+		this.listeners.remove(listener);
+	}
+	
 	@Override
 	public <T> Query<T> query(Class<T> clazz) {
 		return queryBuilder.from(clazz);
@@ -141,9 +269,17 @@ public class DAOImpl implements DAO {
 	
 	@Override
 	public <T> T single(Query<T> query) {
+		return first(list(query));
+	}
+	
+	@Override
+	public <T> T single(Query<T> query, boolean cached) {
+		return first(list(query, cached));
+	}
+	
+	private <T> T first(List<T> l) {
 		T o = null;
 		
-		List<T> l = list(query);
 		if(l != null && !l.isEmpty()) {
 			o = l.get(0);
 		}
@@ -151,6 +287,15 @@ public class DAOImpl implements DAO {
 		return o;
 	}
 	
+	@Override
+	public <P, T> QueryTemplate<P, T> template(Class<P> clazz, Function<BinderSQL<P>, Query<T>> query) {
+		BinderSQL<P> binder = binderBuilder.from(clazz);
+		Query<T> q = query.apply(binder);
+		NativeSQLResult result = q.to(nativeSQL);
+		binder.configure(result);
+		return new QueryTemplateImpl<P, T>(this, q.getClazz(), binder, result.sqlValues());
+	}
+	
 	@Override
 	public <T> List<T> list(Query<T> query) {
 		return list(query, (PreparedStatementHandler)null);
@@ -163,6 +308,23 @@ public class DAOImpl implements DAO {
 	
 	@Override
 	public <T> List<T> list(Query<T> query, PreparedStatementHandler stHandler) {
+		if(queryCache != null && stHandler == null && queryCache.isCacheable(query.getClazz())) {
+			return cached(query);
+		}
+		
+		return uncached(query, stHandler);
+	}
+	
+	@Override
+	public <T> List<T> list(Query<T> query, boolean cached) {
+		if(queryCache != null && cached) {
+			return cached(query);
+		}
+		
+		return uncached(query, null);
+	}
+	
+	private <T> List<T> uncached(Query<T> query, PreparedStatementHandler stHandler) {
 		final List<T> l = new ArrayList<T>();
 		
 		list(query, (t) -> {
@@ -173,96 +335,99 @@ public class DAOImpl implements DAO {
 		return log(l);
 	}
 	
-	@Override
-	public <T> void list(Query<T> query, Function<T, Boolean> tHandler, PreparedStatementHandler stHandler) {
+	private <T> List<T> cached(Query<T> query) {
 		NativeSQLResult result = query.to(nativeSQL);
+		String sql = result.sqlValues();
+		List<Object> params = result.values();
 		
-		Map<String, Integer> columns = new HashMap<String, Integer>();
-		
-		list(result.sqlValues(), result.values(), (ResultSet rs) -> {
-							
-			try {
-				MappingValueProvider<T> map = (MappingValueProvider<T>) mappings.get(query.getClazz());
-				if(map == null) {
-					throw new IllegalArgumentException("No mapping for: " + query.getClazz().getName());
-				}
-				
-				T t = query.getClazz().newInstance();
-				
-				if(columns.isEmpty()) {
-					columns.putAll(getColumns(rs));
-				}
-								
-				map.fill(t, new ValueProvider() {
-					
-					@Override
-					public <R> R get(String name, Class<R> clazz) {
-						try {
-							if(!columns.keySet().contains(name.toLowerCase())) {
-								return null;
-							}
-							
-							if(resultSetConverter == null) {
-								return getValue(columns, rs, name, clazz);
-								
-							} else {
-								return resultSetConverter.converter(rs, name, clazz);
-							}
-						} catch(Exception e) {
-							throw new RuntimeException(
-								"ERROR on converter: " + name + " from " + clazz, e);
-						}
-					}
-
-				});
-				
-				return tHandler.apply(t);
-				
-			} catch(Exception e) {
-				throw new RuntimeException(e);
-			}
+		if(queryCache.hasPending()) {
+			final List<T> l = new ArrayList<T>();
 			
-		}, stHandler);
-	}
-	
-	@SuppressWarnings("unchecked")
-	private <R> R getValue(Map<String, Integer> columns, 
-			ResultSet rs, String name, Class<R> clazz) throws SQLException, IOException {
+			list(query.getClazz(), sql, params, (t) -> {
+				l.add(t);
+				return true;
+			}, null);
+			
+			return log(l);
+		}
 		
-		if(BINARY_TYPES.contains(columns.get(name.toLowerCase()))) {
-			if(InputStream.class.isAssignableFrom(clazz)) {
-				return (R) rs.getBinaryStream(name);
-			} else {
-				return (R) getBytes(rs.getBinaryStream(name));
-			}
-		} else {
-			return rs.getObject(name, clazz);
+		long stamp = queryCache.stamp();
+		
+		List<T> l = queryCache.get(sql, params);
+		if(l != null) {
+			return l;
+		}
+		
+		final List<T> r = new ArrayList<T>();
+		
+		list(query.getClazz(), sql, params, (t) -> {
+			r.add(t);
+			return true;
+		}, null);
+		
+		if(!isWriteScope()) {
+			queryCache.put(sql, params, r, stamp);
 		}
 		
+		return log(r);
 	}
-
-	private static byte[] getBytes(InputStream is) throws IOException {
-	    ByteArrayOutputStream os = new ByteArrayOutputStream();
-	    
-	    if(is != null) {
-		    byte[] buffer = new byte[4096];
-		    for (int len = is.read(buffer); len != -1; len = is.read(buffer)) { 
-		        os.write(buffer, 0, len);
-		    }
-	    }
-	    
-	    return os.toByteArray();
+	
+	@Override
+	public <T> void list(Query<T> query, Function<T, Boolean> tHandler, PreparedStatementHandler stHandler) {
+		NativeSQLResult result = query.to(nativeSQL);
+		list(query.getClazz(), result.sqlValues(), result.values(), tHandler, stHandler);
 	}
 	
-	private Map<String, Integer> getColumns(ResultSet rs) throws SQLException {
-		Map<String, Integer> m = new HashMap<String, Integer>();
-		ResultSetMetaData rsmd = rs.getMetaData();
-		
-		for(int i = 1; i <= rsmd.getColumnCount(); i++) {
-			m.put(rsmd.getColumnName(i).toLowerCase(), rsmd.getColumnType(i));
+	private <T> void list(Class<T> clazz, String sql, List<Object> params, 
+			Function<T, Boolean> tHandler, PreparedStatementHandler stHandler) {
+		list(rs -> getRowMapping(clazz, sql, rs), sql, params, tHandler, stHandler);
+	}
+	
+	<T> void list(Function<ResultSet, RowMapping<T>> planner, String sql, List<Object> params, 
+			Function<T, Boolean> tHandler, PreparedStatementHandler stHandler) {
+		list(sql, params, new RowMappingHandler<T>(planner, resultSetConverter, tHandler), stHandler);
+	}
+	
+	int getRowMappingGeneration() {
+		return rowMappingGeneration;
+	}
+	
+	private void clearRowMappings() {
+		rowMappingGeneration++;
+		rowMappings.clear();
+	}
+	
+	@SuppressWarnings("unchecked")
+	<T> RowMapping<T> getRowMapping(Class<T> clazz, String sql, ResultSet rs) {
+		try {
+			Map<String, RowMapping<?>> plans = rowMappings.get(clazz);
+			if(plans == null) {
+				plans = new ConcurrentHashMap<String, RowMapping<?>>();
+				Map<String, RowMapping<?>> current = rowMappings.putIfAbsent(clazz, plans);
+				if(current != null) {
+					plans = current;
+				}
+			}
+			
+			ResultSetMetaData md = rs.getMetaData();
+			
+			RowMapping<T> plan = (RowMapping<T>) plans.get(sql);
+			if(plan == null || !plan.matches(md)) {
+				plan = new RowMapping<T>(clazz, (MappingValueProvider<T>) mappings.get(clazz), md);
+				plan.setLobSpillThreshold(lobSpillThreshold);
+				plan.setLazyLobs(lazyLobs);
+				
+				if(plans.size() >= MAX_ROW_MAPPINGS) {
+					plans.clear();
+				}
+				plans.put(sql, plan);
+			}
+			
+			return plan;
+			
+		} catch(SQLException e) {
+			throw new RuntimeException(e);
 		}
-		
-		return m;
 	}
 	
 	@Override
@@ -290,6 +455,87 @@ public class DAOImpl implements DAO {
 		};
 	}
 	
+	@Override
+	public <P, T> BatchInserter<P> batchBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, int batchSize) {
+		return batchBinder(clazz, into, batchSize, null);
+	}
+	
+	@Override
+	public <P, T> BatchInserter<P> batchBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, 
+			int batchSize, BatchHandler handler) {
+		BinderSQL<P> binder = binderBuilder.from(clazz);
+		NativeSQLResult result = into.apply(binder).to(insertSQL);
+		binder.configure(result);
+		
+		BatchInserterImpl<P> inserter = new BatchInserterImpl<P>(connectionProvider, binder::bind, batchSize, 
+				invalidating(result.sqlValues(), handler));
+		inserter.setListeners(listeners);
+		
+		return inserter;
+	}
+	
+	@Override
+	public <P, T> BatchInserter<P> multiRowBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, int maxRows) {
+		return multiRowBinder(clazz, into, maxRows, null);
+	}
+	
+	@Override
+	public <P, T> BatchInserter<P> multiRowBinder(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, 
+			int maxRows, BatchHandler handler) {
+		BinderSQL<P> binder = binderBuilder.from(clazz);
+		NativeSQLResult result = into.apply(binder).to(insertSQL);
+		binder.configure(result);
+		
+		MultiRowInserterImpl<P> inserter = new MultiRowInserterImpl<P>(connectionProvider, binder::bind, 
+				maxRows, maxParams, invalidating(result.sqlValues(), handler));
+		inserter.setListeners(listeners);
+		
+		return inserter;
+	}
+	
+	private BatchHandler invalidating(String sql, BatchHandler handler) {
+		if(queryCache == null) {
+			return handler;
+		}
+		
+		return (counts) -> {
+			invalidate(sql);
+			if(handler != null) {
+				handler.handle(counts);
+			}
+		};
+	}
+	
+	@Override
+	public <P, T> BulkLoader<P> bulkLoader(Class<P> clazz, Function<BinderSQL<P>, Into<T>> into, BulkCopy copy) {
+		BinderSQL<P> binder = binderBuilder.from(clazz);
+		NativeSQLResult result = into.apply(binder).to(insertSQL);
+		binder.configure(result);
+		
+		Matcher m = INSERT_COLUMNS.matcher(result.sqlValues());
+		if(!m.find()) {
+			throw new IllegalArgumentException("Not an insert with columns: " + result.sqlValues());
+		}
+		
+		String table = m.group(1);
+		List<String> columns = new ArrayList<String>();
+		for(String c : m.group(2).split(",")) {
+			columns.add(c.trim());
+		}
+		
+		BulkLoaderImpl<P> loader = new BulkLoaderImpl<P>(connectionProvider, copy, table, columns, 
+				(p) -> binder.bind(p).values());
+		loader.setListeners(listeners);
+		
+		return (items) -> {
+			try {
+				return loader.load(items);
+			} finally {
+				invalidate(result.sqlValues());
+			}
+		};
+	}
+	
 	@Override
 	public <T, R> List<R> list(Query<T> query, Class<R> clazz) {
 		ClassListHandler<R> handler = new ClassListHandler<R>(clazz);
@@ -309,6 +555,414 @@ public class DAOImpl implements DAO {
 		list(result.sqlValues(), result.values(), handler, stHandler);
 	}
 	
+	@Override
+	public <T, R> Iterator<List<T>> paginate(Query<T> query, Function<T, R> key, int pageSize) {
+		List<Function<T, ?>> keys = new ArrayList<Function<T, ?>>();
+		keys.add(key);
+		return paginate(query, keys, false, pageSize);
+	}
+	
+	@Override
+	public <T> Iterator<List<T>> paginate(Query<T> query, List<Function<T, ?>> keys, boolean descending, int pageSize) {
+		Class<T> clazz = query.getClazz();
+		
+		List<String> columns = new ArrayList<String>();
+		for(Function<T, ?> key : keys) {
+			columns.add(getColumnName(clazz, key));
+		}
+		
+		NativeSQLResult result = query.to(nativeSQL);
+		
+		return new KeysetIterator<T>(this, clazz, result.sqlValues(), result.values(), 
+				columns, keys, descending, pageSize);
+	}
+	
+	@Override
+	public <T, R> List<Partition<T>> partition(Query<T> query, Function<T, R> property, int partitions) {
+		if(partitions < 1) {
+			throw new IllegalArgumentException("Invalid partitions: " + partitions);
+		}
+		
+		Class<T> clazz = query.getClazz();
+		String column = getColumnName(clazz, property);
+		NativeSQLResult result = query.to(nativeSQL);
+		List<Object> values = result.values() != null ? result.values() : new ArrayList<Object>();
+		
+		Object[] range = new Object[2];
+		list("select min(" + column + "), max(" + column + ") from (" + result.sqlValues() + ") p", values, (rs) -> {
+			try {
+				range[0] = rs.getObject(1);
+				range[1] = rs.getObject(2);
+			} catch(SQLException e) {
+				throw new RuntimeException(e);
+			}
+			return false;
+		});
+		
+		List<Object> bounds = bounds(range[0], range[1], partitions);
+		if(bounds == null) {
+			throw new IllegalArgumentException("Range partition needs a numeric or date key: " + column 
+					+ " (" + range[0].getClass().getName() + "), use partitionByModulo.");
+		}
+		
+		List<Partition<T>> l = new ArrayList<Partition<T>>(bounds.size() + 1);
+		
+		for(int i = 0; i <= bounds.size(); i++) {
+			StringBuilder sql = new StringBuilder("select * from (").append(result.sqlValues()).append(") p");
+			List<Object> params = new ArrayList<Object>(values);
+			
+			if(i > 0) {
+				sql.append(" where ").append(column).append(" >= ?");
+				params.add(bounds.get(i - 1));
+			}
+			
+			if(i < bounds.size()) {
+				sql.append(i > 0 ? " and " : " where ").append(column).append(" < ?");
+				params.add(bounds.get(i));
+			}
+			
+			String partitionSql = sql.toString();
+			l.add((tHandler) -> list(clazz, partitionSql, params, tHandler, null));
+		}
+		
+		return l;
+	}
+	
+	private static List<Object> bounds(Object min, Object max, int partitions) {
+		List<Object> l = new ArrayList<Object>();
+		
+		if(min == null || max == null) {
+			return l;
+		}
+		
+		if(min instanceof Date) {
+			for(BigDecimal b : split(BigDecimal.valueOf(((Date) min).getTime()), 
+					BigDecimal.valueOf(((Date) max).getTime()), partitions, true)) {
+				l.add(new java.sql.Timestamp(b.longValue()));
+			}
+			return l;
+		}
+		
+		if(!(min instanceof Number)) {
+			return null;
+		}
+		
+		BigDecimal lo = new BigDecimal(min.toString());
+		BigDecimal hi = new BigDecimal(max.toString());
+		boolean integral = !(min instanceof Double || min instanceof Float) 
+				&& lo.stripTrailingZeros().scale() <= 0 && hi.stripTrailingZeros().scale() <= 0;
+		
+		for(BigDecimal b : split(lo, hi, partitions, integral)) {
+			if(min instanceof Double || min instanceof Float) {
+				l.add(b.doubleValue());
+			} else if(integral && b.toBigInteger().bitLength() < 64) {
+				l.add(b.longValue());
+			} else {
+				l.add(b);
+			}
+		}
+		
+		return l;
+	}
+	
+	private static List<BigDecimal> split(BigDecimal min, BigDecimal max, int partitions, boolean integral) {
+		List<BigDecimal> l = new ArrayList<BigDecimal>();
+		
+		BigDecimal span = max.subtract(min);
+		if(integral) {
+			span = span.add(BigDecimal.ONE);
+		}
+		
+		BigDecimal last = min;
+		for(int i = 1; i < partitions; i++) {
+			BigDecimal offset = span.multiply(BigDecimal.valueOf(i));
+			offset = integral 
+					? offset.divide(BigDecimal.valueOf(partitions), 0, RoundingMode.CEILING)
+					: offset.divide(BigDecimal.valueOf(partitions), MathContext.DECIMAL64);
+			
+			BigDecimal b = min.add(offset);
+			if(b.compareTo(last) > 0 && b.compareTo(max) <= 0) {
+				l.add(b);
+				last = b;
+			}
+		}
+		
+		return l;
+	}
+	
+	@Override
+	public <T, R> List<Partition<T>> partitionByModulo(Query<T> query, Function<T, R> property, int partitions) {
+		if(partitions < 1) {
+			throw new IllegalArgumentException("Invalid partitions: " + partitions);
+		}
+		
+		Class<T> clazz = query.getClazz();
+		String column = getColumnName(clazz, property);
+		NativeSQLResult result = query.to(nativeSQL);
+		
+		List<Partition<T>> l = new ArrayList<Partition<T>>(partitions);
+		
+		for(int i = 0; i < partitions; i++) {
+			String sql = "select * from (" + result.sqlValues() + ") p"
+					+ " where abs(mod(" + column + ", " + partitions + ")) = " + i;
+			l.add((tHandler) -> list(clazz, sql, result.values(), tHandler, null));
+		}
+		
+		return l;
+	}
+	
+	@Override
+	public <P, C, K> Map<K, List<C>> loadRelation(List<P> parents, Function<P, K> parentKey, 
+			Query<C> children, Function<C, K> foreignKey) {
+		Set<K> keys = new LinkedHashSet<K>();
+		for(P p : parents) {
+			K key = parentKey.apply(p);
+			if(key != null) {
+				keys.add(key);
+			}
+		}
+		
+		Map<K, List<C>> map = new LinkedHashMap<K, List<C>>();
+		if(keys.isEmpty()) {
+			return map;
+		}
+		
+		Class<C> clazz = children.getClazz();
+		String column = getColumnName(clazz, foreignKey);
+		NativeSQLResult result = children.to(nativeSQL);
+		String sql = "select * from (" + result.sqlValues() + ") p where " + column;
+		
+		Function<C, Boolean> tHandler = (c) -> {
+			map.computeIfAbsent(foreignKey.apply(c), (k) -> new ArrayList<C>()).add(c);
+			return true;
+		};
+		
+		if(relationArrays) {
+			List<Object> params = new ArrayList<Object>(result.values());
+			params.add(createArray(keys));
+			list(clazz, sql + " = any(?)", params, tHandler, null);
+			return map;
+		}
+		
+		if(relationBatchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + relationBatchSize);
+		}
+		
+		List<K> l = new ArrayList<K>(keys);
+		for(int i = 0; i < l.size(); i += relationBatchSize) {
+			List<K> chunk = l.subList(i, Math.min(l.size(), i + relationBatchSize));
+			
+			// pads the chunk to a power of two so few distinct statements are prepared
+			int size = Math.min(relationBatchSize, Integer.highestOneBit(chunk.size() - 1) << 1);
+			size = Math.max(size, chunk.size());
+			
+			StringBuilder sb = new StringBuilder(sql).append(" in (");
+			List<Object> params = new ArrayList<Object>(result.values());
+			for(int j = 0; j < size; j++) {
+				if(j > 0) {
+					sb.append(", ");
+				}
+				sb.append('?');
+				params.add(chunk.get(Math.min(j, chunk.size() - 1)));
+			}
+			sb.append(')');
+			
+			list(clazz, sb.toString(), params, tHandler, null);
+		}
+		
+		return map;
+	}
+	
+	@Override
+	public <P, C, K> void loadRelation(List<P> parents, Function<P, K> parentKey, 
+			Query<C> children, Function<C, K> foreignKey, BiConsumer<P, List<C>> setter) {
+		Map<K, List<C>> map = loadRelation(parents, parentKey, children, foreignKey);
+		
+		for(P p : parents) {
+			K key = parentKey.apply(p);
+			List<C> l = key != null ? map.get(key) : null;
+			setter.accept(p, l != null ? l : new ArrayList<C>());
+		}
+	}
+	
+	private <K> ArrayParam createArray(Set<K> keys) {
+		Object first = keys.iterator().next();
+		
+		String type;
+		if(first instanceof Long) {
+			type = "bigint";
+		} else if(first instanceof Integer) {
+			type = "integer";
+		} else if(first instanceof Short) {
+			type = "smallint";
+		} else if(first instanceof String) {
+			type = "varchar";
+		} else if(first instanceof UUID) {
+			type = "uuid";
+		} else {
+			throw new IllegalArgumentException("Type not supported on array: " + first.getClass().getName());
+		}
+		
+		return new ArrayParam(type, keys.toArray());
+	}
+	
+	@Override
+	public <T> ColumnarResult columns(Query<T> query) {
+		NativeSQLResult result = query.to(nativeSQL);
+		return columns(result.sqlValues(), result.values());
+	}
+	
+	@Override
+	public ColumnarResult columns(String sql, List<Object> params) {
+		ColumnarResultBuilder builder = new ColumnarResultBuilder();
+		list(sql, params, builder);
+		return builder.build();
+	}
+	
+	@Override
+	public <T> Stream<T> stream(Query<T> query) {
+		return stream(query, streamFetchSize);
+	}
+	
+	@Override
+	public <T> Stream<T> stream(Query<T> query, int fetchSize) {
+		NativeSQLResult result = query.to(nativeSQL);
+		Class<T> clazz = query.getClazz();
+		String sql = result.sqlValues();
+		
+		RowMappingHandler<T> handler = new RowMappingHandler<T>(
+				rs -> getRowMapping(clazz, sql, rs), resultSetConverter, null);
+		
+		return stream(sql, result.values(), handler::toObject, fetchSize);
+	}
+	
+	@Override
+	public <T> Stream<T> stream(String sql, List<Object> params, Class<T> clazz) {
+		return stream(sql, params, new ClassHandler<T>(clazz, null)::toObject, streamFetchSize);
+	}
+	
+	private <T> Stream<T> stream(String sql, List<Object> params, 
+			Function<ResultSet, T> mapper, int fetchSize) {
+		ExecutionEvent event = before(ExecutionEvent.Type.QUERY, sql, params);
+		long start = event != null ? System.nanoTime() : 0L;
+		
+		Connection conn = null;
+		boolean autoCommit = false;
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		List<Closeable> opened = new ArrayList<Closeable>();
+		try {
+			conn = getReadConnection();
+			
+			if(fetchSize > 0 && conn.getAutoCommit()) {
+				conn.setAutoCommit(false);
+				autoCommit = true;
+			}
+			
+			st = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			
+			if(fetchSize > 0) {
+				st.setFetchSize(fetchSize);
+			}
+			
+			addParams(st, params, opened);
+			
+			log(sql, params);
+			
+			if(defaultStatementHandler != null) {
+				defaultStatementHandler.handle(st);
+			}
+			
+			if(event != null) {
+				long now = System.nanoTime();
+				event.setPrepareNanos(now - start);
+				start = now;
+			}
+			
+			rs = st.executeQuery();
+			
+			if(event != null) {
+				event.setExecuteNanos(System.nanoTime() - start);
+			}
+			
+			ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<T>(st, rs, mapper);
+			
+			if(fetchSize > 0 && streamMaxFetchSize > fetchSize) {
+				spliterator.setAdaptiveFetchSize(fetchSize, streamMaxFetchSize);
+			}
+			
+			// a late cancel can abort the next statement on a shared connection
+			if(streamCancelOnClose && fetchSize > 0 && !(connectionProvider instanceof ConnectionScope)) {
+				spliterator.setCancelOnClose(true);
+			}
+			
+			Stream<T> stream = StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+			
+			if(!opened.isEmpty()) {
+				stream = stream.onClose(() -> close(opened));
+			}
+			
+			Connection c = conn;
+			
+			if(autoCommit) {
+				stream = stream.onClose(() -> restoreAutoCommit(c));
+			}
+			
+			if(connectionProvider instanceof ReadConnectionProvider) {
+				stream = stream.onClose(() -> releaseReadConnection(c, false));
+			}
+			
+			if(event != null) {
+				long fetchStart = System.nanoTime();
+				stream = stream.onClose(() -> {
+					event.setRowCount(spliterator.getRows());
+					event.setFetchNanos(System.nanoTime() - fetchStart);
+					after(event);
+				});
+			}
+			
+			return stream;
+			
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "SQL:" + sql + "\nParams:" + params, e);
+			
+			if(event != null) {
+				event.setError(e);
+				after(event);
+			}
+			
+			if(rs != null) {
+				try {
+					rs.close();
+				} catch(Exception er) {
+					logger.log(Level.SEVERE, "Error on close ResultSet.", er);
+				}
+			}
+			if(st != null) {
+				try {
+					st.close();
+				} catch(Exception er) {
+					logger.log(Level.SEVERE, "Error on close Statement.", er);
+				}
+			}
+			if(autoCommit) {
+				restoreAutoCommit(conn);
+			}
+			close(opened);
+			releaseReadConnection(conn, true);
+			
+			throw new RuntimeException(e);
+		}
+	}
+	
+	private void restoreAutoCommit(Connection conn) {
+		try {
+			conn.setAutoCommit(true);
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on restore auto-commit.", e);
+		}
+	}
+	
 	@Override
 	public <T> void list(String sql, List<Object> params, Class<T> clazz, ResultHandler<T> action) {
 		list(sql, params, new ClassHandler<T>(clazz, action), null);
@@ -322,13 +976,20 @@ public class DAOImpl implements DAO {
 	@Override
 	public void list(String sql, List<Object> params, 
 			ResultSetHandler handler, PreparedStatementHandler stHandler) { 
+		ExecutionEvent event = before(ExecutionEvent.Type.QUERY, sql, params);
+		long start = event != null ? System.nanoTime() : 0L;
+		
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
+		boolean reusable = false;
+		boolean failed = false;
+		List<Closeable> opened = new ArrayList<Closeable>();
 		try {
-			st = connectionProvider.getConnection()
-					.prepareStatement(sql);
+			conn = getReadConnection();
+			st = prepare(conn, sql, false);
 			
-			addParams(st, params);
+			addParams(st, params, opened);
 			
 			log(sql, params);
 			
@@ -340,11 +1001,31 @@ public class DAOImpl implements DAO {
 				stHandler.handle(st);
 			}
 			
+			if(event != null) {
+				long now = System.nanoTime();
+				event.setPrepareNanos(now - start);
+				start = now;
+			}
+			
 			rs = st.executeQuery();
 			
-			forEachHandler(handler, rs);
+			handler.start(rs);
+			
+			if(event != null) {
+				long now = System.nanoTime();
+				event.setExecuteNanos(now - start);
+				forEachHandler(handler, rs, event);
+			} else {
+				forEachHandler(handler, rs);
+			}
+			
+			reusable = stHandler == null;
 			
 		} catch(Exception e) {
+			failed = true;
+			if(event != null) {
+				event.setError(e);
+			}
 			logger.log(Level.SEVERE, "SQL:" + sql + "\nParams:" + params, e);
 			throw new RuntimeException(e);
 			
@@ -357,12 +1038,73 @@ public class DAOImpl implements DAO {
 					logger.log(Level.SEVERE, "Error on close ResultSet.", e);
 				}
 			}
-			if(st != null) {
-				try {
-					st.close();
-				} catch(Exception e) {
-					logger.log(Level.SEVERE, "Error on close Statement.", e);
-				}
+			release(conn, sql, false, st, reusable);
+			close(opened);
+			releaseReadConnection(conn, failed);
+			
+			if(event != null) {
+				after(event);
+			}
+		}
+	}
+	
+	private void invalidate(String sql) {
+		if(queryCache == null) {
+			return;
+		}
+		
+		if(!queryCache.defer(sql)) {
+			queryCache.invalidateSQL(sql);
+		}
+	}
+	
+	private boolean isWriteScope() {
+		if(connectionProvider instanceof ConnectionScope) {
+			ConnectionScope scope = (ConnectionScope) connectionProvider;
+			return scope.isActive() && !scope.isReadOnly();
+		}
+		return false;
+	}
+	
+	private Connection getReadConnection() {
+		if(connectionProvider instanceof ReadConnectionProvider) {
+			return ((ReadConnectionProvider) connectionProvider).getReadConnection();
+		}
+		return connectionProvider.getConnection();
+	}
+	
+	private void releaseReadConnection(Connection conn, boolean failed) {
+		if(conn != null && connectionProvider instanceof ReadConnectionProvider) {
+			((ReadConnectionProvider) connectionProvider).releaseReadConnection(conn, failed);
+		}
+	}
+	
+	private PreparedStatement prepare(Connection conn, String sql, boolean generatedKeys) throws SQLException {
+		if(statementCache != null) {
+			return statementCache.prepare(conn, sql, generatedKeys);
+		}
+		
+		if(generatedKeys) {
+			return conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+		} else {
+			return conn.prepareStatement(sql);
+		}
+	}
+	
+	private void release(Connection conn, String sql, boolean generatedKeys, 
+			PreparedStatement st, boolean reusable) {
+		if(st == null) {
+			return;
+		}
+		
+		if(statementCache != null && reusable) {
+			statementCache.release(conn, sql, generatedKeys, st);
+			
+		} else {
+			try {
+				st.close();
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on close Statement.", e);
 			}
 		}
 	}
@@ -380,16 +1122,26 @@ public class DAOImpl implements DAO {
 		return l;
 	}
 
-	private void addParams(PreparedStatement st, List<Object> params) throws SQLException {
+	static void addParams(PreparedStatement st, List<Object> params, List<Closeable> opened) throws SQLException {
 		if(params != null) {
 			for(int i = 0; i < params.size(); i++) {
 				Object o = params.get(i);
 				if(o instanceof Date) {
 					st.setTimestamp(i + 1, new java.sql.Timestamp(((java.util.Date)o).getTime()));
 				} else if(o instanceof File) {
+					setBinaryStream(st, i + 1, ((File)o).toPath(), opened);
+				} else if(o instanceof Path) {
+					setBinaryStream(st, i + 1, (Path)o, opened);
+				} else if(o instanceof ByteBuffer) {
+					ByteBuffer buffer = ((ByteBuffer)o).duplicate();
+					setBinaryStream(st, i + 1, new ByteBufferInputStream(buffer), buffer.remaining());
+				} else if(o instanceof LobHandle) {
 					try {
-						st.setBinaryStream(i + 1, new FileInputStream((File)o));
-					} catch(Exception e) {
+						LobHandle lob = (LobHandle)o;
+						InputStream is = lob.openStream();
+						opened.add(is);
+						setBinaryStream(st, i + 1, is, lob.size());
+					} catch(IOException e) {
 						throw new RuntimeException(e);
 					}
 				} else if(o instanceof InputStream) {
@@ -398,6 +1150,22 @@ public class DAOImpl implements DAO {
 					} catch(Exception e) {
 						throw new RuntimeException(e);
 					}				
+				} else if(o instanceof Reader) {
+					st.setCharacterStream(i + 1, (Reader)o);
+				} else if(o instanceof ArrayParam) {
+					ArrayParam param = (ArrayParam)o;
+					java.sql.Array array = st.getConnection().createArrayOf(param.type, param.values);
+					opened.add(() -> {
+						try {
+							array.free();
+						} catch(SQLException e) {
+							throw new IOException(e);
+						}
+					});
+					st.setArray(i + 1, array);
+				} else if(o instanceof String && ((String)o).length() > LARGE_TEXT) {
+					String text = (String)o;
+					st.setCharacterStream(i + 1, new StringReader(text), text.length());
 				} else {
 					st.setObject(i + 1, o);
 				}
@@ -405,6 +1173,37 @@ public class DAOImpl implements DAO {
 		}
 	}
 	
+	private static void setBinaryStream(PreparedStatement st, int index, Path path, 
+			List<Closeable> opened) throws SQLException {
+		try {
+			InputStream is = Files.newInputStream(path);
+			opened.add(is);
+			setBinaryStream(st, index, is, Files.size(path));
+		} catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	private static void setBinaryStream(PreparedStatement st, int index, 
+			InputStream is, long length) throws SQLException {
+		if(length <= Integer.MAX_VALUE) {
+			st.setBinaryStream(index, is, (int)length);
+		} else {
+			st.setBinaryStream(index, is, length);
+		}
+	}
+	
+	static void close(List<Closeable> opened) {
+		for(Closeable c : opened) {
+			try {
+				c.close();
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on close stream.", e);
+			}
+		}
+		opened.clear();
+	}
+	
 	@Override
 	public <T> void execute(Into<T> into) {
 		NativeSQLResult result = into.to(insertSQL);
@@ -417,6 +1216,40 @@ public class DAOImpl implements DAO {
 		execute(result.sqlValues(), result.values(), handlerKeys);
 	}
 	
+	@Override
+	public <T> void executeAll(List<Into<T>> intos) {
+		MultiRowInsert insert = null;
+		List<Object> params = new ArrayList<Object>();
+		int rows = 0;
+		int rowsPerStatement = 0;
+		
+		for(Into<T> into : intos) {
+			NativeSQLResult result = into.to(insertSQL);
+			
+			if(insert != null && (rows >= rowsPerStatement || !insert.getSql().equals(result.sqlValues()))) {
+				execute(insert.render(rows), params);
+				params = new ArrayList<Object>();
+				rows = 0;
+				
+				if(!insert.getSql().equals(result.sqlValues())) {
+					insert = null;
+				}
+			}
+			
+			if(insert == null) {
+				insert = new MultiRowInsert(result.sqlValues());
+				rowsPerStatement = MultiRowInsert.rowsPerStatement(result.values().size(), maxParams, Integer.MAX_VALUE);
+			}
+			
+			params.addAll(result.values());
+			rows++;
+		}
+		
+		if(rows > 0) {
+			execute(insert.render(rows), params);
+		}
+	}
+	
 	@Override
 	public <T, R> void executeOnConflict(Into<T> into, Update<T> update, Function<T, R> property) {
 		
@@ -452,6 +1285,66 @@ public class DAOImpl implements DAO {
 		execute(sb.toString(), resultInsert.values());
 	}
 	
+	@Override
+	public <T, R> void upsertAll(Class<T> clazz, Function<BinderSQL<T>, Into<T>> into, Iterable<T> items, 
+			Function<T, R> property, List<Function<T, ?>> updated) {
+		
+		if(updated == null || updated.isEmpty()) {
+			upsertAllDoNothing(clazz, into, items, property);
+			return;
+		}
+		
+		StringBuilder sb = new StringBuilder();
+		
+		sb.append(" on conflict (" + getColumnName(clazz, property) + ") do update set ");
+		
+		for(int i = 0; i < updated.size(); i++) {
+			String name = getColumnName(clazz, updated.get(i));
+			if(i > 0) {
+				sb.append(", ");
+			}
+			sb.append(name + " = excluded." + name);
+		}
+		
+		upsertAll(clazz, into, items, sb.toString());
+	}
+	
+	@Override
+	public <T, R> void upsertAllDoNothing(Class<T> clazz, Function<BinderSQL<T>, Into<T>> into, Iterable<T> items, 
+			Function<T, R> property) {
+		upsertAll(clazz, into, items, " on conflict (" + getColumnName(clazz, property) + ") do nothing");
+	}
+	
+	private <T> void upsertAll(Class<T> clazz, Function<BinderSQL<T>, Into<T>> into, Iterable<T> items, 
+			String onConflict) {
+		BinderSQL<T> binder = binderBuilder.from(clazz);
+		NativeSQLResult result = into.apply(binder).to(insertSQL);
+		binder.configure(result);
+		
+		BatchHandler handler = invalidating(result.sqlValues(), null);
+		
+		BatchInserter<T> inserter;
+		
+		if(upsertMultiRow) {
+			MultiRowInserterImpl<T> multiRow = new MultiRowInserterImpl<T>(
+					connectionProvider, binder::bind, upsertBatchSize, maxParams, handler);
+			multiRow.setSuffix(onConflict);
+			multiRow.setListeners(listeners);
+			inserter = multiRow;
+			
+		} else {
+			BatchInserterImpl<T> batch = new BatchInserterImpl<T>(
+					connectionProvider, binder::bind, upsertBatchSize, handler);
+			batch.setSuffix(onConflict);
+			batch.setListeners(listeners);
+			inserter = batch;
+		}
+		
+		try(BatchInserter<T> i = inserter) {
+			i.insertAll(items);
+		}
+	}
+	
 	@Override
 	public <T> void execute(Update<T> update) {
 		NativeSQLResult result = update.to(updateSQL);
@@ -476,19 +1369,38 @@ public class DAOImpl implements DAO {
 	
 	@Override
 	public void execute(String sql, List<Object> params, ResultSetHandler handlerKeys) { 
+		ExecutionEvent event = before(ExecutionEvent.Type.UPDATE, sql, params);
+		long start = event != null ? System.nanoTime() : 0L;
+		
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
+		boolean reusable = false;
+		List<Closeable> opened = new ArrayList<Closeable>();
 		try {
-			st = connectionProvider.getConnection()
-					.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			conn = connectionProvider.getConnection();
+			st = prepare(conn, sql, true);
 			
-			addParams(st, params);
+			addParams(st, params, opened);
 			
 			log(sql, params);
 			
+			if(event != null) {
+				long now = System.nanoTime();
+				event.setPrepareNanos(now - start);
+				start = now;
+			}
+			
 			int count = st.executeUpdate();
 			
-			logger.info("SQL: Count: " + count);
+			if(event != null) {
+				event.setExecuteNanos(System.nanoTime() - start);
+				event.setRowCount(count);
+			}
+			
+			if(logger.isLoggable(Level.INFO)) {
+				logger.info("SQL: Count: " + count);
+			}
 
 			if(handlerKeys != null) {
 				rs = st.getGeneratedKeys();
@@ -497,7 +1409,12 @@ public class DAOImpl implements DAO {
 				}
 			}
 			
+			reusable = true;
+			
 		} catch(Exception e) {
+			if(event != null) {
+				event.setError(e);
+			}
 			logger.log(Level.SEVERE, "SQL:" + sql + " params: " + params, e);
 			throw new RuntimeException(e);
 			
@@ -511,12 +1428,13 @@ public class DAOImpl implements DAO {
 				}
 			}
 			
-			if(st != null) {
-				try {
-					st.close();
-				} catch(Exception e) {
-					logger.log(Level.SEVERE, "Error on close Statement.", e);
-				}
+			release(conn, sql, true, st, reusable);
+			close(opened);
+			
+			invalidate(sql);
+			
+			if(event != null) {
+				after(event);
 			}
 		}
 	}
@@ -529,6 +1447,88 @@ public class DAOImpl implements DAO {
 		}
 	}
 	
+	private void forEachHandler(ResultSetHandler handler, ResultSet rs, ExecutionEvent event) throws SQLException {
+		long rows = 0;
+		long fetch = 0;
+		long map = 0;
+		
+		try {
+			long start = System.nanoTime();
+			while(true) {
+				boolean next = rs.next();
+				
+				long fetched = System.nanoTime();
+				fetch += fetched - start;
+				
+				if(!next) {
+					break;
+				}
+				
+				rows++;
+				boolean more = handler.next(rs);
+				
+				start = System.nanoTime();
+				map += start - fetched;
+				
+				if(!more) {
+					break;
+				}
+			}
+			
+		} finally {
+			event.setRowCount(rows);
+			event.setFetchNanos(fetch);
+			event.setMapNanos(map);
+		}
+	}
+	
+	private ExecutionEvent before(ExecutionEvent.Type type, String sql, List<Object> params) {
+		return before(listeners, type, sql, params);
+	}
+	
+	private void after(ExecutionEvent event) {
+		after(listeners, event);
+	}
+	
+	static ExecutionEvent before(List<ExecutionListener> listeners, 
+			ExecutionEvent.Type type, String sql, List<Object> params) {
+		if(listeners.isEmpty()) {
+			return null;
+		}
+		
+		ExecutionEvent event = new ExecutionEvent(type, sql, params);
+		
+		for(ExecutionListener listener : listeners) {
+			try {
+				listener.before(event);
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on execution listener.", e);
+			}
+		}
+		
+		return event;
+	}
+	
+	static void after(List<ExecutionListener> listeners, ExecutionEvent event) {
+		for(ExecutionListener listener : listeners) {
+			try {
+				listener.after(event);
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on execution listener.", e);
+			}
+		}
+	}
+	
+	static long rowCount(int[] counts) {
+		long rows = 0;
+		if(counts != null) {
+			for(int c : counts) {
+				rows += c == Statement.SUCCESS_NO_INFO ? 1 : Math.max(c, 0);
+			}
+		}
+		return rows;
+	}
+	
 	private <T, R> String getColumnName(Class<T> clazz, Function<T, R> property) {
 		MethodRecordProxy<T> proxy = TypeUtils.createProxy(clazz);
 		property.apply(proxy.getProxy());
@@ -536,4 +1536,21 @@ public class DAOImpl implements DAO {
 		return mappings.getNameFromMethod(m);
 	}
 	
+	private static class ArrayParam {
+		
+		private String type;
+		private Object[] values;
+		
+		public ArrayParam(String type, Object[] values) {
+			this.type = type;
+			this.values = values;
+		}
+		
+		@Override
+		public String toString() {
+			return Arrays.toString(values);
+		}
+		
+	}
+	
 }
@@ -0,0 +1,226 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.naskar.fluentquery.jdbc.ExecutionEvent;
+import com.naskar.fluentquery.jdbc.ExecutionListener;
+
+public class ExecutionMetrics implements ExecutionListener {
+
+	private static final String OTHER = "<other>";
+
+	private int maxStatements;
+	private Map<String, StatementMetrics> bySql;
+	private Map<String, StatementMetrics> byFingerprint;
+
+	public ExecutionMetrics() {
+		this(1000);
+	}
+
+	public ExecutionMetrics(int maxStatements) {
+		this.maxStatements = maxStatements;
+		this.bySql = new ConcurrentHashMap<String, StatementMetrics>();
+		this.byFingerprint = new ConcurrentHashMap<String, StatementMetrics>();
+	}
+
+	@Override
+	public void after(ExecutionEvent event) {
+		StatementMetrics m = bySql.get(event.getSql());
+
+		if(m == null) {
+			m = getByFingerprint(event.getFingerprint());
+
+			if(bySql.size() < maxStatements * 4) {
+				bySql.put(event.getSql(), m);
+			}
+		}
+
+		m.add(event);
+	}
+
+	public Collection<StatementMetrics> getStatements() {
+		return new ArrayList<StatementMetrics>(byFingerprint.values());
+	}
+
+	public StatementMetrics getStatement(String sql) {
+		return byFingerprint.get(ExecutionEvent.fingerprint(sql));
+	}
+
+	public void reset() {
+		bySql.clear();
+		byFingerprint.clear();
+	}
+
+	private StatementMetrics getByFingerprint(String fingerprint) {
+		StatementMetrics m = byFingerprint.get(fingerprint);
+
+		if(m == null) {
+			if(byFingerprint.size() >= maxStatements) {
+				fingerprint = OTHER;
+			}
+			m = byFingerprint.computeIfAbsent(fingerprint, StatementMetrics::new);
+		}
+
+		return m;
+	}
+
+	public static class StatementMetrics {
+
+		private String fingerprint;
+
+		private LongAdder count;
+		private LongAdder errors;
+		private LongAdder rows;
+		private LongAdder prepareNanos;
+		private LongAdder executeNanos;
+		private LongAdder fetchNanos;
+		private LongAdder mapNanos;
+
+		private Histogram latency;
+		private Histogram rowCounts;
+
+		public StatementMetrics(String fingerprint) {
+			this.fingerprint = fingerprint;
+			this.count = new LongAdder();
+			this.errors = new LongAdder();
+			this.rows = new LongAdder();
+			this.prepareNanos = new LongAdder();
+			this.executeNanos = new LongAdder();
+			this.fetchNanos = new LongAdder();
+			this.mapNanos = new LongAdder();
+			this.latency = new Histogram();
+			this.rowCounts = new Histogram();
+		}
+
+		void add(ExecutionEvent event) {
+			count.increment();
+			if(event.getError() != null) {
+				errors.increment();
+			}
+
+			rows.add(event.getRowCount());
+			prepareNanos.add(event.getPrepareNanos());
+			executeNanos.add(event.getExecuteNanos());
+			fetchNanos.add(event.getFetchNanos());
+			mapNanos.add(event.getMapNanos());
+
+			latency.add(event.getTotalNanos());
+			rowCounts.add(event.getRowCount());
+		}
+
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		public long getRows() {
+			return rows.sum();
+		}
+
+		public long getPrepareNanos() {
+			return prepareNanos.sum();
+		}
+
+		public long getExecuteNanos() {
+			return executeNanos.sum();
+		}
+
+		public long getFetchNanos() {
+			return fetchNanos.sum();
+		}
+
+		public long getMapNanos() {
+			return mapNanos.sum();
+		}
+
+		public long getDriverNanos() {
+			return getPrepareNanos() + getExecuteNanos() + getFetchNanos();
+		}
+
+		public Histogram getLatency() {
+			return latency;
+		}
+
+		public Histogram getRowCounts() {
+			return rowCounts;
+		}
+
+		@Override
+		public String toString() {
+			return fingerprint
+				+ " count=" + getCount()
+				+ " errors=" + getErrors()
+				+ " rows=" + getRows()
+				+ " p50=" + latency.getPercentile(0.5)
+				+ " p99=" + latency.getPercentile(0.99)
+				+ " driverNanos=" + getDriverNanos()
+				+ " mapNanos=" + getMapNanos();
+		}
+
+	}
+
+	public static class Histogram {
+
+		private AtomicLongArray buckets = new AtomicLongArray(64);
+
+		public void add(long value) {
+			buckets.incrementAndGet(bucket(value));
+		}
+
+		public long getCount() {
+			long count = 0;
+			for(int i = 0; i < buckets.length(); i++) {
+				count += buckets.get(i);
+			}
+			return count;
+		}
+
+		public long getPercentile(double percentile) {
+			long count = getCount();
+			if(count == 0) {
+				return 0;
+			}
+
+			long target = (long) Math.ceil(count * percentile);
+			long seen = 0;
+			for(int i = 0; i < buckets.length(); i++) {
+				seen += buckets.get(i);
+				if(seen >= target) {
+					return upperBound(i);
+				}
+			}
+
+			return Long.MAX_VALUE;
+		}
+
+		public long[] getBuckets() {
+			long[] l = new long[buckets.length()];
+			for(int i = 0; i < l.length; i++) {
+				l[i] = buckets.get(i);
+			}
+			return l;
+		}
+
+		public static long upperBound(int bucket) {
+			return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+		}
+
+		private static int bucket(long value) {
+			return value <= 0 ? 0 : Math.min(63, 64 - Long.numberOfLeadingZeros(value));
+		}
+
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.LobHandle;
+
+public class FileLobHandle implements LobHandle {
+
+	private static final Logger logger = Logger.getLogger(FileLobHandle.class.getName());
+
+	private static final ReferenceQueue<FileLobHandle> unreachable = new ReferenceQueue<FileLobHandle>();
+	private static final Set<Cleanup> pending = Collections.synchronizedSet(new HashSet<Cleanup>());
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			synchronized(pending) {
+				for(Cleanup c : new ArrayList<Cleanup>(pending)) {
+					c.delete();
+				}
+			}
+		}));
+	}
+
+	private Path file;
+	private boolean temporary;
+	private Cleanup cleanup;
+
+	public FileLobHandle(Path file, boolean temporary) {
+		this.file = file;
+		this.temporary = temporary;
+
+		if(temporary) {
+			purge();
+			this.cleanup = new Cleanup(this, file);
+			pending.add(cleanup);
+		}
+	}
+
+	public static void purge() {
+		Reference<? extends FileLobHandle> ref;
+		while((ref = unreachable.poll()) != null) {
+			((Cleanup) ref).delete();
+		}
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public long size() throws IOException {
+		return Files.size(file);
+	}
+
+	@Override
+	public InputStream openStream() throws IOException {
+		return Files.newInputStream(file);
+	}
+
+	@Override
+	public long transferTo(WritableByteChannel target) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long position = 0;
+			while(position < size) {
+				position += channel.transferTo(position, size - position, target);
+			}
+			return size;
+		}
+	}
+
+	@Override
+	public int read(long position, ByteBuffer target) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.read(target, position);
+		}
+	}
+
+	@Override
+	public void close() {
+		if(temporary) {
+			cleanup.delete();
+		}
+	}
+
+	private static class Cleanup extends PhantomReference<FileLobHandle> {
+
+		private Path file;
+
+		Cleanup(FileLobHandle handle, Path file) {
+			super(handle, unreachable);
+			this.file = file;
+		}
+
+		void delete() {
+			pending.remove(this);
+			clear();
+
+			try {
+				Files.deleteIfExists(file);
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on delete file: " + file, e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.BulkCopy;
+
+public class H2BulkCopy implements BulkCopy {
+
+	private static final Logger logger = Logger.getLogger(H2BulkCopy.class.getName());
+
+	@Override
+	public long copy(Connection conn, String table, List<String> columns, Reader csv) throws Exception {
+		Path file = Files.createTempFile("fluent-query-bulk", ".csv");
+		try {
+			try(Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				char[] buffer = new char[8192];
+				int n;
+				while((n = csv.read(buffer)) != -1) {
+					w.write(buffer, 0, n);
+				}
+			}
+
+			String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") "
+					+ "SELECT * FROM CSVREAD(" + literal(file.toString()) + ", " 
+					+ literal(String.join(",", columns)) + ", 'charset=UTF-8')";
+
+			try(Statement st = conn.createStatement()) {
+				return st.executeUpdate(sql);
+			}
+
+		} finally {
+			try {
+				Files.deleteIfExists(file);
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on delete file: " + file, e);
+			}
+		}
+	}
+
+	private static String literal(String s) {
+		return "'" + s.replace("'", "''") + "'";
+	}
+
+}
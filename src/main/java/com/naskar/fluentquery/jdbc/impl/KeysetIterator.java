@@ -0,0 +1,170 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+public class KeysetIterator<T> implements Iterator<List<T>> {
+
+	private DAOImpl dao;
+	private Class<T> clazz;
+	private String sql;
+	private List<Object> params;
+	private List<Function<T, ?>> keys;
+	private int pageSize;
+
+	private String firstSql;
+	private String nextSql;
+
+	private List<Object> last;
+	private List<T> page;
+	private boolean done;
+
+	public KeysetIterator(DAOImpl dao, Class<T> clazz, String sql, List<Object> params,
+			List<String> columns, List<Function<T, ?>> keys, boolean descending, int pageSize) {
+		if(pageSize < 1) {
+			throw new IllegalArgumentException("Invalid page size: " + pageSize);
+		}
+		if(keys.isEmpty() || keys.size() != columns.size()) {
+			throw new IllegalArgumentException("Invalid keys: " + columns);
+		}
+
+		this.dao = dao;
+		this.clazz = clazz;
+		this.sql = sql;
+		this.params = params;
+		this.keys = keys;
+		this.pageSize = pageSize;
+
+		String order = orderBy(columns, descending) + " limit " + pageSize;
+
+		this.firstSql = "select * from (" + sql + ") p" + order;
+		this.nextSql = "select * from (" + sql + ") p where " + seek(columns, descending) + order;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if(page == null && !done) {
+			page = fetch();
+		}
+		return page != null;
+	}
+
+	@Override
+	public List<T> next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		List<T> l = page;
+		page = null;
+		return l;
+	}
+
+	private List<T> fetch() {
+		String s = firstSql;
+		List<Object> values = new ArrayList<Object>();
+		if(params != null) {
+			values.addAll(params);
+		}
+
+		if(last != null) {
+			s = nextSql;
+			values.addAll(seekValues(last));
+		}
+
+		List<T> l = new ArrayList<T>(pageSize);
+		String current = s;
+		dao.list(rs -> dao.getRowMapping(clazz, current, rs), current, values, (t) -> {
+			l.add(t);
+			return true;
+		}, null);
+
+		if(l.size() < pageSize) {
+			done = true;
+		}
+
+		if(l.isEmpty()) {
+			return null;
+		}
+
+		T t = l.get(l.size() - 1);
+		last = new ArrayList<Object>(keys.size());
+		for(Function<T, ?> key : keys) {
+			Object value = key.apply(t);
+			if(value == null) {
+				throw new IllegalStateException("Null key on pagination: " + sql);
+			}
+			last.add(value);
+		}
+
+		return l;
+	}
+
+	private static String orderBy(List<String> columns, boolean descending) {
+		StringBuilder sb = new StringBuilder(" order by ");
+
+		for(int i = 0; i < columns.size(); i++) {
+			if(i > 0) {
+				sb.append(", ");
+			}
+			sb.append(columns.get(i));
+			if(descending) {
+				sb.append(" desc");
+			}
+		}
+
+		return sb.toString();
+	}
+
+	private static String seek(List<String> columns, boolean descending) {
+		String op = descending ? " < ?" : " > ?";
+
+		if(columns.size() == 1) {
+			return columns.get(0) + op;
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(columns.get(0)).append(descending ? " <= ?" : " >= ?").append(" and (");
+
+		for(int i = 0; i < columns.size(); i++) {
+			if(i > 0) {
+				sb.append(" or ");
+			}
+			sb.append('(');
+			for(int j = 0; j < i; j++) {
+				sb.append(columns.get(j)).append(" = ? and ");
+			}
+			sb.append(columns.get(i)).append(op).append(')');
+		}
+
+		sb.append(')');
+
+		return sb.toString();
+	}
+
+	private static List<Object> seekValues(List<Object> last) {
+		List<Object> l = new ArrayList<Object>();
+
+		if(last.size() == 1) {
+			l.add(last.get(0));
+			return l;
+		}
+
+		l.add(last.get(0));
+		for(int i = 0; i < last.size(); i++) {
+			for(int j = 0; j <= i; j++) {
+				l.add(last.get(j));
+			}
+		}
+
+		return l;
+	}
+
+}
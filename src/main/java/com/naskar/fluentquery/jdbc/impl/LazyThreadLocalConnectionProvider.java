@@ -11,12 +11,15 @@ public class LazyThreadLocalConnectionProvider implements ConnectionProvider, Co
 	
 	private ThreadLocal<Connection> scope;
 	private ThreadLocal<Object> scopeOwner;
+	private ThreadLocal<Boolean> scopeReadOnly;
 	private Supplier<Connection> getter;
 	private boolean transacional = true;
+	private StatementCache statementCache;
 	
 	public LazyThreadLocalConnectionProvider(Supplier<Connection> getter, boolean transacional) {
 		this.scope = new ThreadLocal<Connection>();
 		this.scopeOwner = new ThreadLocal<Object>();
+		this.scopeReadOnly = new ThreadLocal<Boolean>();
 		this.getter = getter;
 		this.transacional = transacional;
 	}
@@ -31,17 +34,42 @@ public class LazyThreadLocalConnectionProvider implements ConnectionProvider, Co
 	
 	@Override
 	public void begin(Object owner) {
+		begin(owner, false);
+	}
+	
+	@Override
+	public void begin(Object owner, boolean readOnly) {
 		if(scopeOwner.get() == null) {
 			scopeOwner.set(owner);
+			
+			if(readOnly) {
+				scopeReadOnly.set(Boolean.TRUE);
+			}
 		}
 	}
 	
+	@Override
+	public boolean isReadOnly() {
+		return Boolean.TRUE.equals(scopeReadOnly.get());
+	}
+	
+	@Override
+	public boolean isActive() {
+		return scopeOwner.get() != null;
+	}
+	
 	@Override
 	public Connection end(Object owner) {
 		if(scopeOwner.get() == owner) {
 			Connection conn = scope.get();
 			scope.remove();
 			scopeOwner.remove();
+			scopeReadOnly.remove();
+			
+			if(conn != null && statementCache != null) {
+				statementCache.evict(conn);
+			}
+			
 			return conn;
 		} else {
 			return null;
@@ -56,7 +84,10 @@ public class LazyThreadLocalConnectionProvider implements ConnectionProvider, Co
 			if(conn == null) {
 				conn = getter.get();
 				
-				if(transacional) {
+				if(isReadOnly()) {
+					conn.setReadOnly(true);
+					
+				} else if(transacional) {
 					conn.setAutoCommit(false);
 				}
 				
@@ -74,5 +105,9 @@ public class LazyThreadLocalConnectionProvider implements ConnectionProvider, Co
 	public boolean isTransacional() {
 		return transacional;
 	}
+	
+	public void setStatementCache(StatementCache statementCache) {
+		this.statementCache = statementCache;
+	}
 
 }
@@ -0,0 +1,136 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import com.naskar.fluentquery.jdbc.LobHandle;
+
+public final class LobReader {
+
+	public static final long DEFAULT_SPILL_THRESHOLD = 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private LobReader() {
+	}
+
+	public static LobHandle read(ResultSet rs, int index, long spillThreshold) throws SQLException, IOException {
+		try(InputStream is = rs.getBinaryStream(index)) {
+			return read(is, spillThreshold);
+		}
+	}
+
+	public static int read(ResultSet rs, int index, ByteBuffer target) throws SQLException, IOException {
+		try(InputStream is = rs.getBinaryStream(index)) {
+			return is == null ? -1 : read(is, target);
+		}
+	}
+
+	public static long transfer(ResultSet rs, int index, WritableByteChannel target) throws SQLException, IOException {
+		try(InputStream is = rs.getBinaryStream(index)) {
+			return is == null ? -1 : transfer(is, target);
+		}
+	}
+
+	public static LobHandle read(InputStream is, long spillThreshold) throws IOException {
+		if(is == null) {
+			return null;
+		}
+
+		int max = (int) Math.min(Math.max(spillThreshold, 0), Integer.MAX_VALUE - 8);
+		byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(max, 1))];
+		int length = 0;
+
+		while(true) {
+			if(length == buffer.length) {
+				if(length >= max) {
+					return spill(is, buffer, length);
+				}
+				buffer = Arrays.copyOf(buffer, (int) Math.min((long) length * 2, max));
+			}
+
+			int n = is.read(buffer, length, buffer.length - length);
+			if(n == -1) {
+				return new MemoryLobHandle(buffer, length);
+			}
+			length += n;
+		}
+	}
+
+	public static int read(InputStream is, ByteBuffer target) throws IOException {
+		ReadableByteChannel channel = Channels.newChannel(is);
+
+		int read = 0;
+		while(target.hasRemaining()) {
+			int n = channel.read(target);
+			if(n == -1) {
+				return read == 0 ? -1 : read;
+			}
+			read += n;
+		}
+
+		return read;
+	}
+
+	public static long transfer(InputStream is, WritableByteChannel target) throws IOException {
+		if(target instanceof FileChannel) {
+			FileChannel channel = (FileChannel) target;
+			ReadableByteChannel source = Channels.newChannel(is);
+
+			long start = channel.position();
+			long position = start;
+			long n;
+			while((n = channel.transferFrom(source, position, Long.MAX_VALUE)) > 0) {
+				position += n;
+			}
+			channel.position(position);
+
+			return position - start;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		ReadableByteChannel source = Channels.newChannel(is);
+
+		long total = 0;
+		while(source.read(buffer) != -1) {
+			buffer.flip();
+			while(buffer.hasRemaining()) {
+				total += target.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		return total;
+	}
+
+	private static LobHandle spill(InputStream is, byte[] head, int length) throws IOException {
+		Path file = Files.createTempFile("fluent-query-lob", ".bin");
+
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.wrap(head, 0, length);
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+
+			transfer(is, channel);
+
+		} catch(IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+
+		return new FileLobHandle(file, true);
+	}
+
+}
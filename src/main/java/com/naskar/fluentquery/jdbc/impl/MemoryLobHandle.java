@@ -0,0 +1,64 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import com.naskar.fluentquery.jdbc.LobHandle;
+
+public class MemoryLobHandle implements LobHandle {
+
+	private byte[] data;
+	private int length;
+
+	public MemoryLobHandle(byte[] data) {
+		this(data, data.length);
+	}
+
+	public MemoryLobHandle(byte[] data, int length) {
+		this.data = data;
+		this.length = length;
+	}
+
+	@Override
+	public long size() {
+		return length;
+	}
+
+	@Override
+	public InputStream openStream() {
+		return new ByteArrayInputStream(data, 0, length);
+	}
+
+	@Override
+	public long transferTo(WritableByteChannel target) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+		while(buffer.hasRemaining()) {
+			target.write(buffer);
+		}
+		return length;
+	}
+
+	@Override
+	public int read(long position, ByteBuffer target) {
+		if(position >= length) {
+			return -1;
+		}
+
+		int n = (int) Math.min(target.remaining(), length - position);
+		target.put(data, (int) position, n);
+		return n;
+	}
+
+	public byte[] toByteArray() {
+		return length == data.length ? data : Arrays.copyOf(data, length);
+	}
+
+	@Override
+	public void close() {
+	}
+
+}
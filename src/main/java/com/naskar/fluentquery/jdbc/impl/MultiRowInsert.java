@@ -0,0 +1,83 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class MultiRowInsert {
+
+	public static final int DEFAULT_MAX_PARAMS = 32767;
+
+	private static final Pattern VALUES = Pattern.compile("\\bvalues\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+	private String sql;
+	private String head;
+	private String tuple;
+	private String tail;
+
+	public MultiRowInsert(String sql) {
+		this.sql = sql;
+
+		Matcher m = VALUES.matcher(sql);
+
+		int start = m.find() ? m.end() - 1 : -1;
+
+		int end = start < 0 ? -1 : close(sql, start);
+		if(end < 0) {
+			throw new IllegalArgumentException("Not a single row insert: " + sql);
+		}
+
+		this.head = sql.substring(0, start);
+		this.tuple = sql.substring(start, end + 1);
+		this.tail = sql.substring(end + 1);
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public String render(int rows) {
+		if(rows == 1) {
+			return sql;
+		}
+
+		StringBuilder sb = new StringBuilder(head.length() + tail.length() + (tuple.length() + 2) * rows);
+		sb.append(head);
+		for(int i = 0; i < rows; i++) {
+			if(i > 0) {
+				sb.append(", ");
+			}
+			sb.append(tuple);
+		}
+		sb.append(tail);
+
+		return sb.toString();
+	}
+
+	public static int rowsPerStatement(int paramsPerRow, int maxParams, int maxRows) {
+		int rows = paramsPerRow > 0 ? maxParams / paramsPerRow : maxRows;
+		return Math.max(1, Math.min(rows, maxRows));
+	}
+
+	private static int close(String sql, int start) {
+		int depth = 0;
+		boolean quoted = false;
+
+		for(int i = start; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+
+			if(c == '\'') {
+				quoted = !quoted;
+			} else if(!quoted && c == '(') {
+				depth++;
+			} else if(!quoted && c == ')') {
+				depth--;
+				if(depth == 0) {
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+}
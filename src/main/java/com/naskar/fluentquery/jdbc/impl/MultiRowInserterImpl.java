@@ -0,0 +1,195 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.converters.NativeSQLResult;
+import com.naskar.fluentquery.jdbc.BatchHandler;
+import com.naskar.fluentquery.jdbc.BatchInserter;
+import com.naskar.fluentquery.jdbc.ConnectionProvider;
+import com.naskar.fluentquery.jdbc.ExecutionEvent;
+import com.naskar.fluentquery.jdbc.ExecutionListener;
+
+public class MultiRowInserterImpl<T> implements BatchInserter<T> {
+
+	private static final Logger logger = Logger.getLogger(MultiRowInserterImpl.class.getName());
+
+	private static final int[] EMPTY = new int[0];
+
+	private ConnectionProvider connectionProvider;
+	private Function<T, NativeSQLResult> binder;
+	private int maxRows;
+	private int maxParams;
+	private BatchHandler handler;
+	private String suffix = "";
+	private List<ExecutionListener> listeners = Collections.emptyList();
+
+	private MultiRowInsert insert;
+	private int rowsPerStatement;
+	private PreparedStatement st;
+
+	private List<Object> params;
+	private int rows;
+	private List<Integer> counts;
+
+	public MultiRowInserterImpl(ConnectionProvider connectionProvider,
+			Function<T, NativeSQLResult> binder, int maxRows, int maxParams, BatchHandler handler) {
+		if(maxRows < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + maxRows);
+		}
+
+		this.connectionProvider = connectionProvider;
+		this.binder = binder;
+		this.maxRows = maxRows;
+		this.maxParams = maxParams;
+		this.handler = handler;
+
+		this.params = new ArrayList<Object>();
+		this.counts = new ArrayList<Integer>();
+	}
+
+	public void setSuffix(String suffix) {
+		this.suffix = suffix;
+	}
+
+	public void setListeners(List<ExecutionListener> listeners) {
+		this.listeners = listeners;
+	}
+
+	@Override
+	public void add(T t) {
+		NativeSQLResult result = binder.apply(t);
+		String resultSql = result.sqlValues() + suffix;
+
+		if(insert != null && !insert.getSql().equals(resultSql)) {
+			flush();
+			closeStatement();
+			insert = null;
+		}
+
+		if(insert == null) {
+			insert = new MultiRowInsert(resultSql);
+			rowsPerStatement = MultiRowInsert.rowsPerStatement(result.values().size(), maxParams, maxRows);
+		}
+
+		params.addAll(result.values());
+		rows++;
+
+		if(rows >= rowsPerStatement) {
+			executeRows();
+		}
+	}
+
+	@Override
+	public int[] flush() {
+		if(rows > 0) {
+			executeRows();
+		}
+
+		if(counts.isEmpty()) {
+			return EMPTY;
+		}
+
+		int[] l = new int[counts.size()];
+		for(int i = 0; i < l.length; i++) {
+			l[i] = counts.get(i);
+		}
+		counts.clear();
+
+		if(logger.isLoggable(Level.INFO)) {
+			logger.info("SQL: Multi-row Count: " + l.length);
+		}
+
+		if(handler != null) {
+			handler.handle(l);
+		}
+
+		return l;
+	}
+
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			closeStatement();
+		}
+	}
+
+	private void executeRows() {
+		boolean full = rows == rowsPerStatement;
+		PreparedStatement rowsSt = null;
+		List<Closeable> opened = new ArrayList<Closeable>();
+
+		ExecutionEvent event = listeners.isEmpty() ? null : DAOImpl.before(listeners, 
+				ExecutionEvent.Type.BATCH, insert.render(rows), new ArrayList<Object>(params));
+		long start = event != null ? System.nanoTime() : 0L;
+
+		try {
+			if(full) {
+				if(st == null) {
+					st = connectionProvider.getConnection().prepareStatement(insert.render(rows));
+
+					if(logger.isLoggable(Level.INFO)) {
+						logger.info("SQL:" + insert.getSql() + "\nRows: " + rowsPerStatement);
+					}
+				}
+				rowsSt = st;
+
+			} else {
+				rowsSt = connectionProvider.getConnection().prepareStatement(insert.render(rows));
+			}
+
+			DAOImpl.addParams(rowsSt, params, opened);
+			int count = rowsSt.executeUpdate();
+			counts.add(count);
+
+			if(event != null) {
+				event.setRowCount(count);
+			}
+
+		} catch(Exception e) {
+			if(event != null) {
+				event.setError(e);
+			}
+			logger.log(Level.SEVERE, "SQL:" + insert.getSql() + "\nRows: " + rows, e);
+			throw new RuntimeException(e);
+
+		} finally {
+			params.clear();
+			rows = 0;
+			DAOImpl.close(opened);
+
+			if(event != null) {
+				event.setExecuteNanos(System.nanoTime() - start);
+				DAOImpl.after(listeners, event);
+			}
+
+			if(!full && rowsSt != null) {
+				try {
+					rowsSt.close();
+				} catch(Exception e) {
+					logger.log(Level.SEVERE, "Error on close Statement.", e);
+				}
+			}
+		}
+	}
+
+	private void closeStatement() {
+		if(st != null) {
+			try {
+				st.close();
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on close Statement.", e);
+			}
+			st = null;
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class PartitionMerger<T> implements Iterator<T> {
+
+	private static final Object END = new Object();
+
+	private BlockingQueue<Object> queue;
+	private int remaining;
+	private volatile Throwable error;
+	private volatile boolean closed;
+
+	private Object next;
+
+	public PartitionMerger(int partitions, int bufferSize) {
+		this.queue = new ArrayBlockingQueue<Object>(bufferSize);
+		this.remaining = partitions;
+	}
+
+	public boolean offer(T t) {
+		return put(t);
+	}
+
+	public void done(Throwable e) {
+		if(e != null) {
+			if(error == null) {
+				error = e;
+			}
+			queue.offer(END);
+
+		} else {
+			put(END);
+		}
+	}
+
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, 0), false)
+				.onClose(this::close);
+	}
+
+	public void close() {
+		closed = true;
+		queue.clear();
+	}
+
+	@Override
+	public boolean hasNext() {
+		while(next == null) {
+			if(error != null) {
+				close();
+				throw new RuntimeException(error);
+			}
+
+			if(remaining == 0) {
+				return false;
+			}
+
+			Object o;
+			try {
+				o = queue.take();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new RuntimeException(e);
+			}
+
+			if(o == END) {
+				remaining--;
+			} else {
+				next = o;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		T t = (T) next;
+		next = null;
+		return t;
+	}
+
+	private boolean put(Object o) {
+		try {
+			while(!closed) {
+				if(queue.offer(o, 100, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+}
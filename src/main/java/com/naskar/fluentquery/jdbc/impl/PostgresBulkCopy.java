@@ -0,0 +1,19 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+
+import com.naskar.fluentquery.jdbc.BulkCopy;
+
+public class PostgresBulkCopy implements BulkCopy {
+
+	@Override
+	public long copy(Connection conn, String table, List<String> columns, Reader csv) throws Exception {
+		String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+		return conn.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, csv);
+	}
+
+}
@@ -0,0 +1,341 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class QueryCache {
+
+	private static final Pattern WRITE_TABLE = Pattern.compile(
+			"^\\s*(?:insert\\s+into|update|delete\\s+from|merge\\s+into)\\s+([\\w.\"]+)",
+			Pattern.CASE_INSENSITIVE);
+
+	private int maxEntries;
+	private long ttlNanos;
+	private long maxRows;
+
+	private boolean cacheAll = true;
+	private Set<Class<?>> included;
+	private Set<Class<?>> excluded;
+
+	private LinkedHashMap<Key, Entry> entries;
+	private long rows;
+
+	private long sequence;
+	private long cleared;
+	private Map<String, Long> generations;
+	private ThreadLocal<Set<String>> pending;
+
+	private LongAdder hits;
+	private LongAdder misses;
+	private LongAdder evictions;
+	private LongAdder invalidations;
+
+	public QueryCache(int maxEntries, long ttl, TimeUnit unit) {
+		if(maxEntries < 1) {
+			throw new IllegalArgumentException("Invalid cache size: " + maxEntries);
+		}
+
+		this.maxEntries = maxEntries;
+		this.ttlNanos = unit.toNanos(ttl);
+		this.maxRows = Long.MAX_VALUE;
+
+		this.included = Collections.synchronizedSet(new HashSet<Class<?>>());
+		this.excluded = Collections.synchronizedSet(new HashSet<Class<?>>());
+
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+		this.generations = new HashMap<String, Long>();
+		this.pending = new ThreadLocal<Set<String>>();
+
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.evictions = new LongAdder();
+		this.invalidations = new LongAdder();
+	}
+
+	public void setMaxRows(long maxRows) {
+		this.maxRows = maxRows;
+	}
+
+	public void setCacheAll(boolean cacheAll) {
+		this.cacheAll = cacheAll;
+	}
+
+	public void include(Class<?> clazz) {
+		excluded.remove(clazz);
+		included.add(clazz);
+	}
+
+	public void exclude(Class<?> clazz) {
+		included.remove(clazz);
+		excluded.add(clazz);
+	}
+
+	public boolean isCacheable(Class<?> clazz) {
+		if(excluded.contains(clazz)) {
+			return false;
+		}
+		return cacheAll || included.contains(clazz);
+	}
+
+	@SuppressWarnings("unchecked")
+	public synchronized <T> List<T> get(String sql, List<Object> params) {
+		Key key = new Key(sql, params);
+		Entry e = entries.get(key);
+
+		if(e != null && System.nanoTime() - e.created > ttlNanos) {
+			remove(key);
+			evictions.increment();
+			e = null;
+		}
+
+		if(e == null) {
+			misses.increment();
+			return null;
+		}
+
+		hits.increment();
+
+		return new ArrayList<T>((List<T>) e.rows);
+	}
+
+	public synchronized long stamp() {
+		return sequence;
+	}
+
+	public synchronized void put(String sql, List<Object> params, List<?> result, long stamp) {
+		if(result.size() > maxRows) {
+			return;
+		}
+
+		String upper = sql.toUpperCase();
+		if(isStale(upper, stamp)) {
+			return;
+		}
+
+		Key key = new Key(sql, params);
+		remove(key);
+
+		entries.put(key, new Entry(upper, new ArrayList<Object>(result)));
+		rows += result.size();
+
+		Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+		while((entries.size() > maxEntries || rows > maxRows) && it.hasNext()) {
+			Entry e = it.next().getValue();
+			it.remove();
+			rows -= e.rows.size();
+			evictions.increment();
+		}
+	}
+
+	public synchronized void invalidate(String table) {
+		if(table == null) {
+			clear();
+			return;
+		}
+
+		String name = table.toUpperCase();
+		generations.put(name, ++sequence);
+
+		Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+		while(it.hasNext()) {
+			Entry e = it.next().getValue();
+			if(mentions(e.sql, name)) {
+				it.remove();
+				rows -= e.rows.size();
+				invalidations.increment();
+			}
+		}
+	}
+
+	public void invalidateSQL(String sql) {
+		invalidate(tableOf(sql));
+	}
+
+	public boolean begin() {
+		if(pending.get() != null) {
+			return false;
+		}
+
+		pending.set(new HashSet<String>());
+		return true;
+	}
+
+	public void end() {
+		pending.remove();
+	}
+
+	public boolean defer(String sql) {
+		Set<String> tables = pending.get();
+		if(tables == null) {
+			return false;
+		}
+
+		String table = tableOf(sql);
+		tables.add(table);
+
+		invalidate(table);
+
+		return true;
+	}
+
+	public boolean hasPending() {
+		Set<String> tables = pending.get();
+		return tables != null && !tables.isEmpty();
+	}
+
+	public void commit() {
+		Set<String> tables = pending.get();
+
+		if(tables != null) {
+			for(String table : tables) {
+				invalidate(table);
+			}
+			tables.clear();
+		}
+	}
+
+	public void rollback() {
+		Set<String> tables = pending.get();
+
+		if(tables != null) {
+			tables.clear();
+		}
+	}
+
+	public synchronized void clear() {
+		cleared = ++sequence;
+		invalidations.add(entries.size());
+		entries.clear();
+		rows = 0;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	public long getInvalidations() {
+		return invalidations.sum();
+	}
+
+	private void remove(Key key) {
+		Entry e = entries.remove(key);
+		if(e != null) {
+			rows -= e.rows.size();
+		}
+	}
+
+	private boolean isStale(String sql, long stamp) {
+		if(cleared > stamp) {
+			return true;
+		}
+
+		for(Map.Entry<String, Long> e : generations.entrySet()) {
+			if(e.getValue() > stamp && mentions(sql, e.getKey())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static String tableOf(String sql) {
+		Matcher m = WRITE_TABLE.matcher(sql);
+
+		if(m.find()) {
+			String table = m.group(1).replace("\"", "");
+			int i = table.lastIndexOf('.');
+			return i < 0 ? table : table.substring(i + 1);
+		}
+
+		return null;
+	}
+
+	private static boolean mentions(String sql, String table) {
+		int i = sql.indexOf(table);
+
+		while(i >= 0) {
+			int end = i + table.length();
+
+			boolean before = i == 0 || !isWordChar(sql.charAt(i - 1));
+			boolean after = end == sql.length() || !isWordChar(sql.charAt(end));
+
+			if(before && after) {
+				return true;
+			}
+
+			i = sql.indexOf(table, i + 1);
+		}
+
+		return false;
+	}
+
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+	private static class Entry {
+
+		private String sql;
+		private List<Object> rows;
+		private long created;
+
+		public Entry(String sql, List<Object> rows) {
+			this.sql = sql;
+			this.rows = rows;
+			this.created = System.nanoTime();
+		}
+
+	}
+
+	private static class Key {
+
+		private String sql;
+		private List<Object> params;
+		private int hash;
+
+		public Key(String sql, List<Object> params) {
+			this.sql = sql;
+			this.params = params != null ? new ArrayList<Object>(params) : Collections.emptyList();
+			this.hash = sql.hashCode() * 31 + this.params.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hash == other.hash && sql.equals(other.sql) && params.equals(other.params);
+		}
+
+	}
+
+}
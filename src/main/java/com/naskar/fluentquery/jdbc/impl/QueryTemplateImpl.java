@@ -0,0 +1,82 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.naskar.fluentquery.binder.BinderSQL;
+import com.naskar.fluentquery.converters.NativeSQLResult;
+import com.naskar.fluentquery.jdbc.QueryTemplate;
+
+public class QueryTemplateImpl<P, T> implements QueryTemplate<P, T> {
+	
+	private DAOImpl dao;
+	private Class<T> clazz;
+	private BinderSQL<P> binder;
+	private String sql;
+	
+	private volatile RowMapping<T> plan;
+	private volatile int generation;
+	
+	public QueryTemplateImpl(DAOImpl dao, Class<T> clazz, BinderSQL<P> binder, String sql) {
+		this.dao = dao;
+		this.clazz = clazz;
+		this.binder = binder;
+		this.sql = sql;
+	}
+	
+	@Override
+	public String getSql() {
+		return sql;
+	}
+	
+	@Override
+	public T single(P params) {
+		List<T> l = new ArrayList<T>(1);
+		
+		list(params, (t) -> {
+			l.add(t);
+			return false;
+		});
+		
+		return l.isEmpty() ? null : l.get(0);
+	}
+	
+	@Override
+	public List<T> list(P params) {
+		List<T> l = new ArrayList<T>();
+		
+		list(params, (t) -> {
+			l.add(t);
+			return true;
+		});
+		
+		return l;
+	}
+	
+	@Override
+	public void list(P params, Function<T, Boolean> tHandler) {
+		NativeSQLResult result = binder.bind(params);
+		dao.list(this::getPlan, result.sqlValues(), result.values(), tHandler, null);
+	}
+	
+	private RowMapping<T> getPlan(ResultSet rs) {
+		RowMapping<T> p = plan;
+		int g = dao.getRowMappingGeneration();
+		
+		try {
+			if(p == null || generation != g || !p.matches(rs.getMetaData())) {
+				p = dao.getRowMapping(clazz, sql, rs);
+				plan = p;
+				generation = g;
+			}
+		} catch(SQLException e) {
+			throw new RuntimeException(e);
+		}
+		
+		return p;
+	}
+	
+}
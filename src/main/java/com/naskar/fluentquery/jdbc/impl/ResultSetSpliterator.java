@@ -0,0 +1,111 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+	private static final Logger logger = Logger.getLogger(ResultSetSpliterator.class.getName());
+
+	private Statement st;
+	private ResultSet rs;
+	private Function<ResultSet, T> mapper;
+
+	private int fetchSize;
+	private int maxFetchSize;
+	private long rows;
+	private long nextResize;
+
+	private boolean cancelOnClose;
+	private boolean done;
+	private boolean closed;
+
+	public ResultSetSpliterator(Statement st, ResultSet rs, Function<ResultSet, T> mapper) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.st = st;
+		this.rs = rs;
+		this.mapper = mapper;
+	}
+
+	public void setAdaptiveFetchSize(int fetchSize, int maxFetchSize) {
+		this.fetchSize = fetchSize;
+		this.maxFetchSize = maxFetchSize;
+		this.nextResize = fetchSize;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public void setCancelOnClose(boolean cancelOnClose) {
+		this.cancelOnClose = cancelOnClose;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if(done) {
+			return false;
+		}
+
+		try {
+			if(!rs.next()) {
+				done = true;
+				return false;
+			}
+
+			if(++rows == nextResize && fetchSize < maxFetchSize) {
+				fetchSize = Math.min(fetchSize * 2, maxFetchSize);
+				nextResize += fetchSize;
+				rs.setFetchSize(fetchSize);
+			}
+
+			action.accept(mapper.apply(rs));
+
+			return true;
+
+		} catch(RuntimeException e) {
+			close();
+			throw e;
+
+		} catch(Exception e) {
+			close();
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if(closed) {
+			return;
+		}
+		closed = true;
+
+		if(!done && cancelOnClose) {
+			done = true;
+			try {
+				st.cancel();
+			} catch(Exception e) {
+				logger.log(Level.FINE, "Error on cancel Statement.", e);
+			}
+		}
+
+		try {
+			rs.close();
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on close ResultSet.", e);
+		}
+
+		try {
+			st.close();
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on close Statement.", e);
+		}
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.ConnectionProvider;
+import com.naskar.fluentquery.jdbc.ConnectionScope;
+import com.naskar.fluentquery.jdbc.ReadConnectionProvider;
+
+public class RoutingConnectionProvider implements ReadConnectionProvider, ConnectionScope {
+
+	private static final Logger logger = Logger.getLogger(RoutingConnectionProvider.class.getName());
+
+	public enum Balance { ROUND_ROBIN, LEAST_OUTSTANDING }
+
+	private ConnectionProvider primary;
+	private List<Replica> replicas;
+	private Balance balance = Balance.ROUND_ROBIN;
+	private long failureCooldown = 30000L;
+	private int validationTimeout = 5;
+	private boolean closeReadConnections = true;
+	private StatementCache statementCache;
+
+	private AtomicInteger next;
+	private Map<Connection, Lease> leased;
+	private ThreadLocal<Object> scopeOwner;
+	private ThreadLocal<Boolean> scopeReadOnly;
+
+	public RoutingConnectionProvider(ConnectionProvider primary, List<ConnectionProvider> replicas) {
+		this.primary = primary;
+		this.replicas = new ArrayList<Replica>(replicas.size());
+		for(ConnectionProvider provider : replicas) {
+			this.replicas.add(new Replica(provider));
+		}
+
+		this.next = new AtomicInteger();
+		this.leased = new IdentityHashMap<Connection, Lease>();
+		this.scopeOwner = new ThreadLocal<Object>();
+		this.scopeReadOnly = new ThreadLocal<Boolean>();
+	}
+
+	public void setBalance(Balance balance) {
+		this.balance = balance;
+	}
+
+	public void setFailureCooldown(long failureCooldown) {
+		this.failureCooldown = failureCooldown;
+	}
+
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+	public void setCloseReadConnections(boolean closeReadConnections) {
+		this.closeReadConnections = closeReadConnections;
+	}
+
+	public void setStatementCache(StatementCache statementCache) {
+		this.statementCache = statementCache;
+
+		if(primary instanceof LazyThreadLocalConnectionProvider) {
+			((LazyThreadLocalConnectionProvider) primary).setStatementCache(statementCache);
+		}
+	}
+
+	@Override
+	public void begin(Object owner) {
+		begin(owner, false);
+	}
+
+	@Override
+	public void begin(Object owner, boolean readOnly) {
+		if(scopeOwner.get() == null) {
+			scopeOwner.set(owner);
+
+			if(readOnly) {
+				scopeReadOnly.set(Boolean.TRUE);
+			}
+		}
+
+		if(primary instanceof ConnectionScope) {
+			((ConnectionScope) primary).begin(owner, readOnly);
+		}
+	}
+
+	@Override
+	public boolean isReadOnly() {
+		return Boolean.TRUE.equals(scopeReadOnly.get());
+	}
+
+	@Override
+	public boolean isActive() {
+		return scopeOwner.get() != null;
+	}
+
+	@Override
+	public Connection end(Object owner) {
+		if(scopeOwner.get() == owner) {
+			scopeOwner.remove();
+			scopeReadOnly.remove();
+		}
+
+		if(primary instanceof ConnectionScope) {
+			return ((ConnectionScope) primary).end(owner);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Connection getConnection() {
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getReadConnection() {
+		if(isActive() && !isReadOnly()) {
+			return primary.getConnection();
+		}
+
+		for(int i = 0; i < replicas.size(); i++) {
+			long now = System.currentTimeMillis();
+
+			Replica r = choose(now);
+			if(r == null) {
+				break;
+			}
+
+			try {
+				Connection conn = r.provider.getConnection();
+				r.outstanding.incrementAndGet();
+
+				// a thread-bound replica provider hands out the same connection to nested reads
+				synchronized(leased) {
+					Lease lease = leased.get(conn);
+					if(lease == null) {
+						lease = new Lease(r);
+						leased.put(conn, lease);
+					}
+					lease.count++;
+				}
+
+				return conn;
+
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on get replica connection.", e);
+				r.failedAt = now;
+			}
+		}
+
+		return primary.getConnection();
+	}
+
+	@Override
+	public void releaseReadConnection(Connection conn, boolean failed) {
+		Lease lease;
+		boolean last;
+
+		synchronized(leased) {
+			lease = leased.get(conn);
+			if(lease == null) {
+				return;
+			}
+
+			last = --lease.count == 0;
+			if(last) {
+				leased.remove(conn);
+			}
+		}
+
+		Replica r = lease.replica;
+		r.outstanding.decrementAndGet();
+
+		if(failed && !isValid(conn)) {
+			logger.warning("Replica out of rotation for " + failureCooldown + "ms.");
+			r.failedAt = System.currentTimeMillis();
+		}
+
+		if(closeReadConnections && last) {
+			if(statementCache != null) {
+				statementCache.evict(conn);
+			}
+
+			try {
+				conn.close();
+			} catch(Exception e) {
+				logger.log(Level.SEVERE, "Error on close Connection.", e);
+			}
+		}
+	}
+
+	public int getOutstanding(int replica) {
+		return replicas.get(replica).outstanding.get();
+	}
+
+	public boolean isAvailable(int replica) {
+		return replicas.get(replica).isAvailable(System.currentTimeMillis());
+	}
+
+	private Replica choose(long now) {
+		int size = replicas.size();
+		int start = Math.floorMod(next.getAndIncrement(), size);
+
+		Replica best = null;
+		for(int i = 0; i < size; i++) {
+			Replica r = replicas.get((start + i) % size);
+
+			if(!r.isAvailable(now)) {
+				continue;
+			}
+
+			if(balance == Balance.ROUND_ROBIN) {
+				return r;
+			}
+
+			if(best == null || r.outstanding.get() < best.outstanding.get()) {
+				best = r;
+			}
+		}
+
+		return best;
+	}
+
+	private boolean isValid(Connection conn) {
+		try {
+			return !conn.isClosed() && conn.isValid(validationTimeout);
+		} catch(Exception e) {
+			return false;
+		}
+	}
+
+	private static class Lease {
+
+		private Replica replica;
+		private int count;
+
+		Lease(Replica replica) {
+			this.replica = replica;
+		}
+
+	}
+
+	private class Replica {
+
+		private ConnectionProvider provider;
+		private AtomicInteger outstanding;
+		private volatile long failedAt;
+
+		Replica(ConnectionProvider provider) {
+			this.provider = provider;
+			this.outstanding = new AtomicInteger();
+		}
+
+		boolean isAvailable(long now) {
+			return failedAt == 0L || now - failedAt >= failureCooldown;
+		}
+
+	}
+
+}
@@ -0,0 +1,293 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.sql.Blob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.naskar.fluentquery.jdbc.LobHandle;
+import com.naskar.fluentquery.mapping.MappingValueProvider;
+import com.naskar.fluentquery.mapping.MappingValueProvider.ValueProvider;
+
+public class RowMapping<T> {
+
+	@FunctionalInterface
+	interface ColumnReader {
+		Object read(ResultSet rs, Class<?> clazz) throws SQLException, IOException;
+	}
+
+	private static final ColumnReader MISSING = (rs, clazz) -> null;
+
+	private Class<T> clazz;
+	private Constructor<T> constructor;
+	private MappingValueProvider<T> map;
+	private int columnCount;
+	private Map<String, Integer> indexes;
+	private String[] labels;
+	private int[] types;
+	private Map<String, ColumnReader> readers;
+	private long lobSpillThreshold;
+	private boolean lazyLobs;
+
+	public RowMapping(Class<T> clazz, MappingValueProvider<T> map, ResultSetMetaData md) throws SQLException {
+		if(map == null) {
+			throw new IllegalArgumentException("No mapping for: " + clazz.getName());
+		}
+
+		this.clazz = clazz;
+		this.map = map;
+		this.columnCount = md.getColumnCount();
+		this.indexes = new HashMap<String, Integer>();
+		this.labels = new String[columnCount + 1];
+		this.types = new int[columnCount + 1];
+		this.readers = new ConcurrentHashMap<String, ColumnReader>();
+		this.lobSpillThreshold = LobReader.DEFAULT_SPILL_THRESHOLD;
+
+		for(int i = 1; i <= columnCount; i++) {
+			labels[i] = md.getColumnLabel(i);
+			indexes.putIfAbsent(labels[i].toLowerCase(), i);
+			types[i] = md.getColumnType(i);
+		}
+
+		try {
+			this.constructor = clazz.getDeclaredConstructor();
+			this.constructor.setAccessible(true);
+		} catch(NoSuchMethodException e) {
+			throw new IllegalArgumentException("No default constructor for: " + clazz.getName(), e);
+		}
+	}
+
+	public void setLobSpillThreshold(long lobSpillThreshold) {
+		this.lobSpillThreshold = lobSpillThreshold;
+	}
+
+	public void setLazyLobs(boolean lazyLobs) {
+		this.lazyLobs = lazyLobs;
+	}
+
+	public boolean matches(ResultSetMetaData md) throws SQLException {
+		if(md.getColumnCount() != columnCount) {
+			return false;
+		}
+
+		for(int i = 1; i <= columnCount; i++) {
+			if(md.getColumnType(i) != types[i] || !labels[i].equalsIgnoreCase(md.getColumnLabel(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public Class<T> getClazz() {
+		return clazz;
+	}
+
+	public Row row(ResultSet rs, ResultSetValueConverter converter) {
+		return new Row(rs, converter);
+	}
+
+	private ColumnReader getReader(String name, Class<?> clazz) {
+		ColumnReader reader = readers.get(name);
+
+		if(reader == null) {
+			reader = createReader(name, clazz);
+			readers.put(name, reader);
+		}
+
+		return reader;
+	}
+
+	private ColumnReader createReader(String name, Class<?> clazz) {
+		Integer index = indexes.get(name.toLowerCase());
+		if(index == null) {
+			return MISSING;
+		}
+
+		int i = index;
+
+		switch(types[i]) {
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+				return (rs, c) -> {
+					if(LobHandle.class.isAssignableFrom(c)) {
+						return LobReader.read(rs, i, lobSpillThreshold);
+					} else if(InputStream.class.isAssignableFrom(c)) {
+						return rs.getBinaryStream(i);
+					} else {
+						byte[] bytes = rs.getBytes(i);
+						return bytes != null ? bytes : new byte[0];
+					}
+				};
+
+			case Types.BLOB:
+				return (rs, c) -> {
+					if(LobHandle.class.isAssignableFrom(c)) {
+						if(lazyLobs) {
+							Blob blob = rs.getBlob(i);
+							return blob != null ? new BlobLobHandle(blob, rs) : null;
+						}
+						return LobReader.read(rs, i, lobSpillThreshold);
+					} else {
+						return rs.getObject(i, c);
+					}
+				};
+
+			default:
+				ColumnReader typed = createTypedReader(i, clazz);
+				if(typed == null) {
+					return (rs, c) -> rs.getObject(i, c);
+				}
+				return (rs, c) -> c == clazz ? typed.read(rs, c) : rs.getObject(i, c);
+		}
+	}
+
+	private static ColumnReader createTypedReader(int i, Class<?> clazz) {
+		if(clazz == Long.class) {
+			return (rs, c) -> {
+				long v = rs.getLong(i);
+				return rs.wasNull() ? null : v;
+			};
+		} else if(clazz == Integer.class) {
+			return (rs, c) -> {
+				int v = rs.getInt(i);
+				return rs.wasNull() ? null : v;
+			};
+		} else if(clazz == Double.class) {
+			return (rs, c) -> {
+				double v = rs.getDouble(i);
+				return rs.wasNull() ? null : v;
+			};
+		} else if(clazz == Boolean.class) {
+			return (rs, c) -> {
+				boolean v = rs.getBoolean(i);
+				return rs.wasNull() ? null : v;
+			};
+		} else if(clazz == Float.class) {
+			return (rs, c) -> {
+				float v = rs.getFloat(i);
+				return rs.wasNull() ? null : v;
+			};
+		} else if(clazz == Short.class) {
+			return (rs, c) -> {
+				short v = rs.getShort(i);
+				return rs.wasNull() ? null : v;
+			};
+		} else if(clazz == long.class) {
+			return (rs, c) -> rs.getLong(i);
+		} else if(clazz == int.class) {
+			return (rs, c) -> rs.getInt(i);
+		} else if(clazz == double.class) {
+			return (rs, c) -> rs.getDouble(i);
+		} else if(clazz == boolean.class) {
+			return (rs, c) -> rs.getBoolean(i);
+		} else if(clazz == float.class) {
+			return (rs, c) -> rs.getFloat(i);
+		} else if(clazz == short.class) {
+			return (rs, c) -> rs.getShort(i);
+		} else if(clazz == String.class) {
+			return (rs, c) -> rs.getString(i);
+		} else if(clazz == LocalDate.class) {
+			return (rs, c) -> rs.getObject(i, LocalDate.class);
+		} else if(clazz == LocalDateTime.class) {
+			return (rs, c) -> rs.getObject(i, LocalDateTime.class);
+		}
+
+		return null;
+	}
+
+	public class Row implements ValueProvider {
+
+		private ResultSet rs;
+		private ResultSetValueConverter converter;
+
+		private List<String> calledNames;
+		private List<ColumnReader> calledReaders;
+
+		private String[] names;
+		private ColumnReader[] positional;
+		private int position = -1;
+
+		private Row(ResultSet rs, ResultSetValueConverter converter) {
+			this.rs = rs;
+			this.converter = converter;
+		}
+
+		public T next() throws Exception {
+			T t = constructor.newInstance();
+
+			if(names == null) {
+				calledNames = new ArrayList<String>();
+				calledReaders = new ArrayList<ColumnReader>();
+
+				map.fill(t, this);
+
+				names = calledNames.toArray(new String[calledNames.size()]);
+				positional = calledReaders.toArray(new ColumnReader[calledReaders.size()]);
+				calledNames = null;
+				calledReaders = null;
+
+			} else {
+				position = 0;
+				map.fill(t, this);
+				position = -1;
+			}
+
+			return t;
+		}
+
+		private ColumnReader reader(String name, Class<?> clazz) {
+			// the mapping asks for the same names in the same order on every row
+			if(position >= 0) {
+				if(position < names.length && names[position] == name) {
+					return positional[position++];
+				}
+				position = -1;
+			}
+
+			ColumnReader reader = getReader(name, clazz);
+
+			if(calledNames != null) {
+				calledNames.add(name);
+				calledReaders.add(reader);
+			}
+
+			return reader;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <R> R get(String name, Class<R> clazz) {
+			try {
+				ColumnReader reader = reader(name, clazz);
+				if(reader == MISSING) {
+					return null;
+				}
+
+				if(converter == null) {
+					return (R) reader.read(rs, clazz);
+
+				} else {
+					return converter.converter(rs, name, clazz);
+				}
+			} catch(Exception e) {
+				throw new RuntimeException(
+					"ERROR on converter: " + name + " from " + clazz, e);
+			}
+		}
+
+	}
+
+}
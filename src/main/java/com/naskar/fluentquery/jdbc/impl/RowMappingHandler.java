@@ -0,0 +1,44 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.sql.ResultSet;
+import java.util.function.Function;
+
+import com.naskar.fluentquery.jdbc.ResultSetHandler;
+
+public class RowMappingHandler<T> implements ResultSetHandler {
+
+	private Function<ResultSet, RowMapping<T>> planner;
+	private ResultSetValueConverter converter;
+	private Function<T, Boolean> action;
+
+	private RowMapping<T>.Row row;
+
+	public RowMappingHandler(Function<ResultSet, RowMapping<T>> planner,
+			ResultSetValueConverter converter, Function<T, Boolean> action) {
+		this.planner = planner;
+		this.converter = converter;
+		this.action = action;
+	}
+
+	@Override
+	public boolean next(ResultSet rs) {
+		return action.apply(toObject(rs));
+	}
+
+	public T toObject(ResultSet rs) {
+		try {
+			if(row == null) {
+				row = planner.apply(rs).row(rs, converter);
+			}
+
+			return row.next();
+
+		} catch (RuntimeException e) {
+			throw e;
+
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
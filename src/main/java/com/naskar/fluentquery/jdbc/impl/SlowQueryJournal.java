@@ -0,0 +1,274 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.naskar.fluentquery.jdbc.ExecutionEvent;
+import com.naskar.fluentquery.jdbc.ExecutionListener;
+import com.naskar.fluentquery.jdbc.LobHandle;
+
+public class SlowQueryJournal implements ExecutionListener {
+
+	private static final Logger logger = Logger.getLogger(SlowQueryJournal.class.getName());
+
+	private long thresholdNanos;
+	private AtomicReferenceArray<Entry> entries;
+	private AtomicLong sequence;
+
+	private Function<Object, Object> redactor;
+
+	private Supplier<Connection> explainConnection;
+	private Function<String, String> explainDialect;
+	private Executor explainExecutor;
+	private int explainSampling;
+	private AtomicLong explainCounter;
+
+	public SlowQueryJournal(long threshold, TimeUnit unit, int capacity) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+
+		this.thresholdNanos = unit.toNanos(threshold);
+		this.entries = new AtomicReferenceArray<Entry>(capacity);
+		this.sequence = new AtomicLong();
+		this.explainCounter = new AtomicLong();
+	}
+
+	public void setRedactor(Function<Object, Object> redactor) {
+		this.redactor = redactor;
+	}
+
+	public void setExplain(Supplier<Connection> explainConnection, Function<String, String> explainDialect,
+			Executor explainExecutor, int explainSampling) {
+		this.explainConnection = explainConnection;
+		this.explainDialect = explainDialect;
+		this.explainExecutor = explainExecutor;
+		this.explainSampling = Math.max(1, explainSampling);
+	}
+
+	@Override
+	public void after(ExecutionEvent event) {
+		if(event.getTotalNanos() < thresholdNanos) {
+			return;
+		}
+
+		Entry entry = new Entry(event, redact(event.getParams()), Thread.currentThread().getName());
+
+		long seq = sequence.getAndIncrement();
+		entries.set((int) (seq % entries.length()), entry);
+
+		if(explainExecutor != null
+				&& event.getType() == ExecutionEvent.Type.QUERY
+				&& explainCounter.getAndIncrement() % explainSampling == 0) {
+			List<Object> params = placeholders(event.getParams());
+			explainExecutor.execute(() -> explain(entry, params));
+		}
+	}
+
+	public List<Entry> getEntries() {
+		List<Entry> l = new ArrayList<Entry>();
+
+		long last = sequence.get();
+		long first = Math.max(0, last - entries.length());
+
+		for(long seq = first; seq < last; seq++) {
+			Entry e = entries.get((int) (seq % entries.length()));
+			if(e != null) {
+				l.add(e);
+			}
+		}
+
+		Collections.reverse(l);
+
+		return l;
+	}
+
+	public void clear() {
+		for(int i = 0; i < entries.length(); i++) {
+			entries.set(i, null);
+		}
+	}
+
+	private List<Object> redact(List<Object> params) {
+		if(params == null) {
+			return null;
+		}
+
+		List<Object> l = new ArrayList<Object>(params.size());
+		for(Object o : params) {
+			l.add(redactor != null ? redactor.apply(o) : o);
+		}
+
+		return l;
+	}
+
+	// streams were consumed by the execution itself, the plan does not depend on their content
+	private static List<Object> placeholders(List<Object> params) {
+		if(params == null) {
+			return null;
+		}
+
+		List<Object> l = new ArrayList<Object>(params.size());
+		for(Object o : params) {
+			if(o instanceof InputStream || o instanceof File || o instanceof Path
+					|| o instanceof ByteBuffer || o instanceof LobHandle) {
+				l.add(new byte[0]);
+			} else if(o instanceof Reader) {
+				l.add("");
+			} else {
+				l.add(o);
+			}
+		}
+
+		return l;
+	}
+
+	private void explain(Entry entry, List<Object> params) {
+		String sql = explainDialect.apply(entry.getSql());
+		List<Closeable> opened = new ArrayList<Closeable>();
+
+		try(Connection conn = explainConnection.get();
+				PreparedStatement st = conn.prepareStatement(sql)) {
+
+			DAOImpl.addParams(st, params, opened);
+
+			StringBuilder sb = new StringBuilder();
+			try(ResultSet rs = st.executeQuery()) {
+				int columns = rs.getMetaData().getColumnCount();
+				while(rs.next()) {
+					for(int i = 1; i <= columns; i++) {
+						if(i > 1) {
+							sb.append(' ');
+						}
+						sb.append(rs.getString(i));
+					}
+					sb.append('\n');
+				}
+			}
+
+			entry.plan = sb.toString();
+
+		} catch(Exception e) {
+			logger.log(Level.WARNING, "Error on explain: " + sql, e);
+			entry.plan = "ERROR: " + e.getMessage();
+
+		} finally {
+			DAOImpl.close(opened);
+		}
+	}
+
+	public static String explain(String sql) {
+		return "EXPLAIN " + sql;
+	}
+
+	public static String explainAnalyze(String sql) {
+		return "EXPLAIN ANALYZE " + sql;
+	}
+
+	public static class Entry {
+
+		private String sql;
+		private List<Object> params;
+		private String thread;
+		private long timestamp;
+		private long rowCount;
+		private long prepareNanos;
+		private long executeNanos;
+		private long fetchNanos;
+		private long mapNanos;
+		private Throwable error;
+		private volatile String plan;
+
+		private Entry(ExecutionEvent event, List<Object> params, String thread) {
+			this.sql = event.getSql();
+			this.params = params;
+			this.thread = thread;
+			this.timestamp = System.currentTimeMillis();
+			this.rowCount = event.getRowCount();
+			this.prepareNanos = event.getPrepareNanos();
+			this.executeNanos = event.getExecuteNanos();
+			this.fetchNanos = event.getFetchNanos();
+			this.mapNanos = event.getMapNanos();
+			this.error = event.getError();
+		}
+
+		public String getSql() {
+			return sql;
+		}
+
+		public List<Object> getParams() {
+			return params;
+		}
+
+		public String getThread() {
+			return thread;
+		}
+
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		public long getRowCount() {
+			return rowCount;
+		}
+
+		public long getPrepareNanos() {
+			return prepareNanos;
+		}
+
+		public long getExecuteNanos() {
+			return executeNanos;
+		}
+
+		public long getFetchNanos() {
+			return fetchNanos;
+		}
+
+		public long getMapNanos() {
+			return mapNanos;
+		}
+
+		public long getTotalNanos() {
+			return prepareNanos + executeNanos + fetchNanos + mapNanos;
+		}
+
+		public Throwable getError() {
+			return error;
+		}
+
+		public String getPlan() {
+			return plan;
+		}
+
+		@Override
+		public String toString() {
+			return "SQL:" + sql
+				+ "\nParams:" + params
+				+ "\nThread:" + thread
+				+ " rows=" + rowCount
+				+ " totalNanos=" + getTotalNanos()
+				+ " mapNanos=" + mapNanos
+				+ (plan != null ? "\nPlan:\n" + plan : "");
+		}
+
+	}
+
+}
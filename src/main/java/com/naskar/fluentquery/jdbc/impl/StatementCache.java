@@ -0,0 +1,234 @@
+package com.naskar.fluentquery.jdbc.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class StatementCache {
+
+	private static final Logger logger = Logger.getLogger(StatementCache.class.getName());
+
+	private int maxSize;
+	private int maxTotal;
+	private Map<Ref, Map<Key, PreparedStatement>> statements;
+
+	public StatementCache(int maxSize) {
+		if(maxSize < 1) {
+			throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+		}
+
+		this.maxSize = maxSize;
+		this.maxTotal = maxSize * 64;
+		this.statements = new LinkedHashMap<Ref, Map<Key, PreparedStatement>>(16, 0.75f, true);
+	}
+
+	public void setMaxTotal(int maxTotal) {
+		this.maxTotal = maxTotal;
+	}
+
+	public PreparedStatement prepare(Connection conn, String sql, boolean generatedKeys) throws SQLException {
+		PreparedStatement st = take(conn, new Key(sql, generatedKeys));
+
+		if(st == null || st.isClosed()) {
+			if(generatedKeys) {
+				st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			} else {
+				st = conn.prepareStatement(sql);
+			}
+		}
+
+		return st;
+	}
+
+	public void release(Connection conn, String sql, boolean generatedKeys, PreparedStatement st) {
+		try {
+			st.clearParameters();
+			st.clearWarnings();
+
+		} catch(Exception e) {
+			close(st);
+			return;
+		}
+
+		PreparedStatement previous;
+		List<Map<Key, PreparedStatement>> evicted = new ArrayList<Map<Key, PreparedStatement>>();
+		synchronized (this) {
+			Ref ref = new Ref(conn);
+			Map<Key, PreparedStatement> m = statements.get(ref);
+			if(m == null) {
+				purgeClosed(evicted);
+				m = new Statements(maxSize);
+				statements.put(ref, m);
+			}
+			previous = m.put(new Key(sql, generatedKeys), st);
+
+			int total = count();
+			Iterator<Map.Entry<Ref, Map<Key, PreparedStatement>>> it = statements.entrySet().iterator();
+			while(total > maxTotal && it.hasNext()) {
+				Map.Entry<Ref, Map<Key, PreparedStatement>> e = it.next();
+				if(e.getKey().conn != conn) {
+					total -= e.getValue().size();
+					evicted.add(e.getValue());
+					it.remove();
+				}
+			}
+		}
+
+		if(previous != null && previous != st) {
+			close(previous);
+		}
+
+		for(Map<Key, PreparedStatement> e : evicted) {
+			for(PreparedStatement ps : e.values()) {
+				close(ps);
+			}
+		}
+	}
+
+	public void evict(Connection conn) {
+		Map<Key, PreparedStatement> m;
+		synchronized (this) {
+			m = statements.remove(new Ref(conn));
+		}
+
+		if(m != null) {
+			for(PreparedStatement st : m.values()) {
+				close(st);
+			}
+		}
+	}
+
+	public void clear() {
+		List<Ref> l;
+		synchronized (this) {
+			l = new ArrayList<Ref>(statements.keySet());
+		}
+
+		for(Ref ref : l) {
+			evict(ref.conn);
+		}
+	}
+
+	public synchronized int size() {
+		return count();
+	}
+
+	public synchronized int getConnectionCount() {
+		return statements.size();
+	}
+
+	private int count() {
+		int size = 0;
+		for(Map<Key, PreparedStatement> m : statements.values()) {
+			size += m.size();
+		}
+		return size;
+	}
+
+	private void purgeClosed(List<Map<Key, PreparedStatement>> evicted) {
+		Iterator<Map.Entry<Ref, Map<Key, PreparedStatement>>> it = statements.entrySet().iterator();
+		while(it.hasNext()) {
+			Map.Entry<Ref, Map<Key, PreparedStatement>> e = it.next();
+			boolean closed;
+			try {
+				closed = e.getKey().conn.isClosed();
+			} catch(Exception ex) {
+				closed = true;
+			}
+			if(closed) {
+				evicted.add(e.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	private synchronized PreparedStatement take(Connection conn, Key key) {
+		Map<Key, PreparedStatement> m = statements.get(new Ref(conn));
+		return m != null ? m.remove(key) : null;
+	}
+
+	private static void close(PreparedStatement st) {
+		try {
+			st.close();
+		} catch(Exception e) {
+			logger.log(Level.SEVERE, "Error on close Statement.", e);
+		}
+	}
+
+	private static class Statements extends LinkedHashMap<Key, PreparedStatement> {
+
+		private static final long serialVersionUID = 1L;
+
+		private int maxSize;
+
+		public Statements(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+			if(size() > maxSize) {
+				close(eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+
+	}
+
+	private static class Ref {
+
+		private Connection conn;
+
+		public Ref(Connection conn) {
+			this.conn = conn;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(conn);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Ref && ((Ref) obj).conn == conn;
+		}
+
+	}
+
+	private static class Key {
+
+		private String sql;
+		private boolean generatedKeys;
+
+		public Key(String sql, boolean generatedKeys) {
+			this.sql = sql;
+			this.generatedKeys = generatedKeys;
+		}
+
+		@Override
+		public int hashCode() {
+			return sql.hashCode() * 31 + (generatedKeys ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return generatedKeys == other.generatedKeys && sql.equals(other.sql);
+		}
+
+	}
+
+}
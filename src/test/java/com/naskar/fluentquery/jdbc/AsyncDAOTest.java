@@ -0,0 +1,220 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.h2.Driver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.naskar.fluentquery.domain.Customer;
+import com.naskar.fluentquery.jdbc.impl.AsyncDAOImpl;
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+import com.naskar.fluentquery.jdbc.impl.LazyThreadLocalConnectionProvider;
+import com.naskar.fluentquery.mapping.MappingValueProvider;
+import com.naskar.fluentquery.model.RegionSummary;
+
+public class AsyncDAOTest {
+	
+	private static final String URL = "jdbc:h2:mem:async;DB_CLOSE_DELAY=-1";
+	
+	private Connection conn;
+	private ExecutorService executor;
+	
+	private AsyncDAO dao;
+	
+	@Before
+	public void setup() throws Exception {
+		
+		Driver.class.getName();
+		
+		conn = DriverManager.getConnection(URL);
+		conn.createStatement().execute("CREATE TABLE TB_CUSTOMER("
+				+ "CD_CUSTOMER BIGINT PRIMARY KEY, "
+				+ "NU_REGION_CODE INT, "
+				+ "VL_BALANCE DOUBLE"
+				+ ")");
+		
+		LazyThreadLocalConnectionProvider provider = new LazyThreadLocalConnectionProvider(() -> {
+			try {
+				return DriverManager.getConnection(URL);
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		
+		executor = AsyncDAOImpl.newBoundedExecutor(4, 16);
+		dao = new AsyncDAOImpl(new DAOImpl(provider), provider, executor);
+	}
+	
+	@After
+	public void cleanup() throws Exception {
+		executor.shutdown();
+		conn.createStatement().execute("DROP ALL OBJECTS");
+		conn.close();
+	}
+	
+	@Test
+	public void testSuccessConcurrentQueries() {
+		// Arrange
+		List<CompletableFuture<Void>> inserts = new ArrayList<CompletableFuture<Void>>();
+		for(long i = 1; i <= 10; i++) {
+			inserts.add(dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, NU_REGION_CODE, VL_BALANCE) VALUES (?, ?, ?)", 
+					Arrays.asList(i, i % 2, 10.0)));
+		}
+		CompletableFuture.allOf(inserts.toArray(new CompletableFuture<?>[0])).join();
+		
+		// Act
+		List<CompletableFuture<List<RegionSummary>>> queries = new ArrayList<CompletableFuture<List<RegionSummary>>>();
+		for(long region = 0; region < 2; region++) {
+			List<Object> params = Arrays.asList(region);
+			queries.add(dao.submit(d -> {
+				List<RegionSummary> l = new ArrayList<RegionSummary>();
+				d.list("SELECT NU_REGION_CODE AS REGION, SUM(VL_BALANCE) AS BALANCE FROM TB_CUSTOMER "
+						+ "WHERE NU_REGION_CODE = ? GROUP BY NU_REGION_CODE", params, RegionSummary.class, l::add);
+				return l;
+			}));
+		}
+		
+		// Assert
+		for(CompletableFuture<List<RegionSummary>> q : queries) {
+			List<RegionSummary> actual = q.join();
+			Assert.assertEquals(actual.size(), 1);
+			Assert.assertEquals(actual.get(0).getBalance(), new Double(50.0));
+		}
+	}
+	
+	@Test
+	public void testSuccessParallelScan() {
+		// Arrange
+		DAOImpl d = (DAOImpl) ((AsyncDAOImpl) dao).getDAO();
+		d.addMapping(new MappingValueProvider<Customer>().
+				to(Customer.class, "TB_CUSTOMER")
+					.map(i -> i.getId(), "CD_CUSTOMER", (i, v) -> i.setId(v))
+					.map(i -> i.getRegionCode(), "NU_REGION_CODE", (i, v) -> i.setRegionCode(v))
+					.map(i -> i.getBalance(), "VL_BALANCE", (i, v) -> i.setBalance(v))
+				);
+		
+		dao.submit(x -> {
+			for(long i = 1; i <= 100; i++) {
+				x.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, NU_REGION_CODE, VL_BALANCE) VALUES (?, ?, ?)", 
+						Arrays.asList(i, i % 2, 1.0));
+			}
+			return null;
+		}).join();
+		
+		// Act
+		List<Long> ids;
+		try(Stream<Customer> stream = dao.parallelScan(d.query(Customer.class), i -> i.getId(), 4)) {
+			ids = stream.map(c -> c.getId()).sorted().collect(Collectors.toList());
+		}
+		
+		Double balance = dao.parallelScan(d.query(Customer.class), i -> i.getId(), 3, 
+				() -> new double[1], (a, c) -> a[0] += c.getBalance(), (a, b) -> new double[] { a[0] + b[0] })
+			.thenApply(a -> a[0])
+			.join();
+		
+		// Assert
+		Assert.assertEquals(ids.size(), 100);
+		Assert.assertEquals(ids.get(0), new Long(1L));
+		Assert.assertEquals(ids.get(99), new Long(100L));
+		Assert.assertEquals(balance, new Double(100.0));
+	}
+	
+	@Test(timeout = 10000)
+	public void testFailParallelScanOnCallerThread() {
+		// Arrange
+		DAO partitioned = (DAO) java.lang.reflect.Proxy.newProxyInstance(DAO.class.getClassLoader(), 
+				new Class<?>[] { DAO.class }, (proxy, method, args) -> {
+					List<Partition<Long>> parts = new ArrayList<Partition<Long>>();
+					for(int p = 0; p < (int) args[2]; p++) {
+						parts.add(h -> {
+							for(long i = 0; i < 100 && h.apply(i); i++);
+						});
+					}
+					return parts;
+				});
+		
+		LazyThreadLocalConnectionProvider provider = new LazyThreadLocalConnectionProvider(() -> {
+			throw new IllegalStateException("no connection");
+		});
+		
+		ExecutorService bounded = AsyncDAOImpl.newBoundedExecutor(1, 1);
+		CountDownLatch busy = new CountDownLatch(1);
+		bounded.execute(() -> {
+			try {
+				busy.await();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		
+		try {
+			for(Executor e : Arrays.<Executor>asList(Runnable::run, bounded)) {
+				AsyncDAOImpl async = new AsyncDAOImpl(partitioned, provider, e);
+				async.setScanBufferSize(4);
+				
+				// Act
+				try(Stream<Long> stream = async.parallelScan(null, (Long i) -> i, 4)) {
+					stream.count();
+					Assert.fail();
+					
+				} catch(RuntimeException ex) {
+					// Assert
+					Assert.assertTrue(ex.getCause().getCause() instanceof RejectedExecutionException);
+				}
+				
+				try {
+					async.parallelScan(null, (Long i) -> i, 4, () -> new long[1], (a, i) -> a[0]++, 
+							(a, b) -> new long[] { a[0] + b[0] }).join();
+					Assert.fail();
+					
+				} catch(CompletionException ex) {
+					Assert.assertTrue(ex.getCause() instanceof RejectedExecutionException);
+				}
+			}
+			
+		} finally {
+			busy.countDown();
+			bounded.shutdown();
+		}
+	}
+	
+	@Test
+	public void testRollbackOnError() {
+		CompletableFuture<Void> f = dao.submit(d -> {
+			d.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER) VALUES (?)", Arrays.asList(1L));
+			d.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER) VALUES (?)", Arrays.asList(1L));
+			return null;
+		});
+		
+		try {
+			f.join();
+			Assert.fail();
+		} catch(Exception e) {
+			// expected
+		}
+		
+		List<RegionSummary> actual = dao.submit(d -> {
+			List<RegionSummary> l = new ArrayList<RegionSummary>();
+			d.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER", null, RegionSummary.class, l::add);
+			return l;
+		}).join();
+		
+		Assert.assertEquals(actual.size(), 0);
+	}
+
+}
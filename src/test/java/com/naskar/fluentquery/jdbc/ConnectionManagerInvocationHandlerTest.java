@@ -0,0 +1,174 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.h2.Driver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.naskar.fluentquery.jdbc.impl.ConnectionManagerInvocationHandler;
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+import com.naskar.fluentquery.jdbc.impl.LazyThreadLocalConnectionProvider;
+
+public class ConnectionManagerInvocationHandlerTest {
+	
+	private static final String URL = "jdbc:h2:mem:handler;DB_CLOSE_DELAY=-1";
+	
+	public interface Service {
+		
+		@ReadOnly
+		boolean[] read();
+		
+		boolean[] write();
+		
+		boolean[] findAll();
+		
+		@ReadOnly
+		void fail();
+	
+	}
+	
+	private List<String> calls;
+	private LazyThreadLocalConnectionProvider provider;
+	private Service service;
+	
+	@Before
+	public void setup() throws Exception {
+		
+		Driver.class.getName();
+		
+		calls = new ArrayList<String>();
+		provider = new LazyThreadLocalConnectionProvider(() -> {
+			try {
+				return recording(DriverManager.getConnection(URL));
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		
+		DAOImpl dao = new DAOImpl(provider);
+		
+		Service target = new Service() {
+			
+			private boolean[] list() {
+				try {
+					Connection conn = provider.getConnection();
+					dao.list("SELECT 1", null, (rs) -> true);
+					return new boolean[] { conn.isReadOnly(), conn.getAutoCommit(), provider.isReadOnly() };
+				} catch(Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+			
+			@Override
+			public boolean[] read() {
+				return list();
+			}
+			
+			@Override
+			public boolean[] write() {
+				return list();
+			}
+			
+			@Override
+			public boolean[] findAll() {
+				return list();
+			}
+			
+			@Override
+			public void fail() {
+				provider.getConnection();
+				throw new IllegalStateException("fail");
+			}
+		
+		};
+		
+		ConnectionManagerInvocationHandler handler = new ConnectionManagerInvocationHandler(target, provider);
+		handler.setReadOnlyPolicy(m -> m.getName().startsWith("find"));
+		
+		service = (Service) Proxy.newProxyInstance(Service.class.getClassLoader(),
+				new Class<?>[] { Service.class }, handler);
+	}
+	
+	@After
+	public void cleanup() throws Exception {
+		try(Connection conn = DriverManager.getConnection(URL)) {
+			conn.createStatement().execute("DROP ALL OBJECTS");
+		}
+	}
+	
+	@Test
+	public void testSuccessReadOnlyScope() {
+		Assert.assertArrayEquals(service.read(), new boolean[] { true, true, true });
+		Assert.assertEquals(calls, Arrays.asList("setReadOnly:true", "setReadOnly:false", "close"));
+		
+		calls.clear();
+		Assert.assertArrayEquals(service.findAll(), new boolean[] { true, true, true });
+		Assert.assertEquals(calls, Arrays.asList("setReadOnly:true", "setReadOnly:false", "close"));
+		
+		Assert.assertFalse(provider.isReadOnly());
+	}
+	
+	@Test
+	public void testFailReadOnlyScope() {
+		try {
+			service.fail();
+			Assert.fail();
+		} catch(IllegalStateException e) {
+			Assert.assertEquals(calls, Arrays.asList("setReadOnly:true", "setReadOnly:false", "close"));
+		}
+		
+		Assert.assertFalse(provider.isReadOnly());
+	}
+	
+	@Test
+	public void testSuccessWriteScope() {
+		Assert.assertArrayEquals(service.write(), new boolean[] { false, false, false });
+		Assert.assertEquals(calls, Arrays.asList("setAutoCommit:false", "commit", "close"));
+	}
+	
+	private Connection recording(Connection conn) {
+		boolean[] readOnly = new boolean[1];
+		
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					switch(method.getName()) {
+						case "isReadOnly":
+							return readOnly[0];
+						
+						case "setReadOnly":
+							readOnly[0] = (Boolean) args[0];
+							calls.add("setReadOnly:" + args[0]);
+							return null;
+						
+						case "setAutoCommit":
+							calls.add("setAutoCommit:" + args[0]);
+							break;
+						
+						case "commit":
+						case "rollback":
+						case "close":
+							calls.add(method.getName());
+							break;
+						
+						default:
+							break;
+					}
+					
+					try {
+						return method.invoke(conn, args);
+					} catch(InvocationTargetException e) {
+						throw e.getTargetException();
+					}
+				});
+	}
+
+}
@@ -0,0 +1,210 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.h2.Driver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.naskar.fluentquery.jdbc.impl.ConnectionManagerInvocationHandler;
+import com.naskar.fluentquery.jdbc.impl.ConnectionPool;
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+import com.naskar.fluentquery.jdbc.impl.LazyThreadLocalConnectionProvider;
+import com.naskar.fluentquery.model.RegionSummary;
+
+public class ConnectionPoolTest {
+	
+	private ConnectionPool pool;
+	
+	@Before
+	public void setup() throws Exception {
+		
+		Driver.class.getName();
+		
+		pool = new ConnectionPool(() -> {
+			try {
+				return DriverManager.getConnection("jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1");
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		}, 1, 2);
+		pool.setBorrowTimeout(100L);
+	}
+	
+	@After
+	public void cleanup() throws Exception {
+		try(Connection conn = pool.getConnection()) {
+			conn.createStatement().execute("DROP ALL OBJECTS");
+		}
+		pool.close();
+	}
+	
+	@Test
+	public void testSuccessBorrowAndReturn() throws Exception {
+		Assert.assertEquals(pool.getIdleCount(), 1);
+		
+		Connection conn1 = pool.getConnection();
+		conn1.setAutoCommit(false);
+		conn1.setReadOnly(true);
+		conn1.close();
+		
+		Connection conn2 = pool.getConnection();
+		
+		Assert.assertTrue(conn1.isClosed());
+		Assert.assertTrue(conn2.getAutoCommit());
+		Assert.assertFalse(conn2.isReadOnly());
+		
+		Assert.assertEquals(pool.getTotalCount(), 1);
+		Assert.assertEquals(pool.getActiveCount(), 1);
+		Assert.assertEquals(pool.getBorrowCount(), 2);
+		
+		conn2.close();
+		
+		Assert.assertEquals(pool.getActiveCount(), 0);
+		Assert.assertEquals(pool.getIdleCount(), 1);
+	}
+	
+	@Test
+	public void testTimeoutWhenExhausted() throws Exception {
+		Connection conn1 = pool.getConnection();
+		Connection conn2 = pool.getConnection();
+		
+		try {
+			pool.getConnection();
+			Assert.fail();
+		} catch(RuntimeException e) {
+			Assert.assertEquals(pool.getTimeoutCount(), 1);
+		}
+		
+		conn1.close();
+		conn2.close();
+		
+		Assert.assertEquals(pool.getTotalCount(), 2);
+		Assert.assertEquals(pool.getIdleCount(), 2);
+	}
+	
+	@Test
+	public void testSuccessStatementsClosedOnReturn() throws Exception {
+		Connection conn = pool.getConnection();
+		
+		PreparedStatement st = conn.prepareStatement("SELECT 1");
+		Statement plain = conn.createStatement();
+		
+		Assert.assertSame(st.getConnection(), conn);
+		Assert.assertSame(conn.getMetaData().getConnection(), conn);
+		
+		conn.close();
+		
+		Assert.assertTrue(st.isClosed());
+		Assert.assertTrue(plain.isClosed());
+	}
+	
+	@Test
+	public void testSuccessStatementCachedAcrossBorrows() throws Exception {
+		pool.setStatementCacheSize(4);
+		
+		Connection conn1 = pool.getConnection();
+		PreparedStatement st1 = conn1.prepareStatement("SELECT ?");
+		st1.setInt(1, 1);
+		PreparedStatement physical = st1.unwrap(PreparedStatement.class);
+		conn1.close();
+		
+		Assert.assertTrue(st1.isClosed());
+		
+		Connection conn2 = pool.getConnection();
+		PreparedStatement st2 = conn2.prepareStatement("SELECT ?");
+		
+		Assert.assertNotSame(st2, st1);
+		Assert.assertSame(st2.unwrap(PreparedStatement.class), physical);
+		Assert.assertFalse(st2.isClosed());
+		
+		st2.setInt(1, 2);
+		try(ResultSet rs = st2.executeQuery()) {
+			Assert.assertTrue(rs.next());
+			Assert.assertEquals(rs.getInt(1), 2);
+		}
+		
+		try {
+			st1.executeQuery();
+			Assert.fail();
+		} catch(SQLException e) {
+			Assert.assertEquals(e.getMessage(), "Statement closed.");
+		}
+		
+		conn2.close();
+	}
+	
+	@Test
+	public void testFailCreateClosesPrewarmed() throws Exception {
+		List<Connection> created = new ArrayList<Connection>();
+		
+		try {
+			new ConnectionPool(() -> {
+				if(created.size() == 2) {
+					throw new IllegalStateException("unavailable");
+				}
+				try {
+					Connection conn = DriverManager.getConnection("jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1");
+					created.add(conn);
+					return conn;
+				} catch(Exception e) {
+					throw new RuntimeException(e);
+				}
+			}, 3, 3);
+			Assert.fail();
+		} catch(IllegalStateException e) {
+			Assert.assertEquals(created.size(), 2);
+			for(Connection conn : created) {
+				Assert.assertTrue(conn.isClosed());
+			}
+		}
+	}
+	
+	@Test
+	public void testSuccessRefillAfterDiscard() throws Exception {
+		Connection conn = pool.getConnection();
+		conn.unwrap(Connection.class).close();
+		conn.close();
+		
+		Assert.assertEquals(pool.getTotalCount(), 1);
+		Assert.assertEquals(pool.getIdleCount(), 1);
+		Assert.assertEquals(pool.getActiveCount(), 0);
+		
+		try(Connection other = pool.getConnection()) {
+			Assert.assertFalse(other.isClosed());
+		}
+	}
+	
+	@Test
+	public void testSuccessWithThreadLocalProvider() {
+		LazyThreadLocalConnectionProvider provider = new LazyThreadLocalConnectionProvider(pool::getConnection);
+		DAOImpl target = new DAOImpl(provider);
+		
+		DAO dao = (DAO) java.lang.reflect.Proxy.newProxyInstance(DAO.class.getClassLoader(), 
+				new Class<?>[] { DAO.class }, 
+				new ConnectionManagerInvocationHandler(target, provider));
+		
+		dao.execute("CREATE TABLE TB_CUSTOMER(CD_CUSTOMER BIGINT PRIMARY KEY)");
+		for(long i = 1; i <= 5; i++) {
+			dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER) VALUES (?)", Arrays.asList(i));
+		}
+		
+		List<RegionSummary> actual = new ArrayList<RegionSummary>();
+		dao.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER", null, RegionSummary.class, actual::add);
+		
+		Assert.assertEquals(actual.size(), 5);
+		Assert.assertEquals(pool.getTotalCount(), 1);
+		Assert.assertEquals(pool.getActiveCount(), 0);
+	}
+
+}
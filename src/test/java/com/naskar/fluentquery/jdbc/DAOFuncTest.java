@@ -2,6 +2,7 @@ package com.naskar.fluentquery.jdbc;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.h2.Driver;
@@ -94,6 +95,41 @@ public class DAOFuncTest {
 		Assert.assertEquals(actualAccount.get(1).getBalance(), new Double(2.0));
 	}
 
+	@Test
+	public void testSuccessBatchInsert() {
+		// Arrange
+		List<int[]> batches = new ArrayList<int[]>();
+		
+		List<Account> accounts = new ArrayList<Account>();
+		for(long i = 1; i <= 5; i++) {
+			Account a = new Account();
+			a.setId(i);
+			a.setBalance(i * 10.0);
+			accounts.add(a);
+		}
+		
+		// Act
+		try(BatchInserter<Account> inserter = 
+				dao.batchBinder(Account.class, (b) -> 
+					dao.insert(Account.class)
+						.value(i -> i.getId()).set(b.get(i -> i.getId()))
+						.value(i -> i.getBalance()).set(b.get(i -> i.getBalance())),
+					2, batches::add)) {
+			
+			inserter.insertAll(accounts);
+		}
+		
+		List<Account> actual = dao.list(dao.query(Account.class)
+				.where(i -> i.getBalance()).gt(0.0));
+		
+		// Assert
+		Assert.assertEquals(batches.size(), 3);
+		Assert.assertEquals(batches.get(2).length, 1);
+		
+		Assert.assertEquals(actual.size(), 5);
+		Assert.assertEquals(actual.get(4).getBalance(), new Double(50.0));
+	}
+
 	private void createCustomer() {
 		dao.execute("CREATE TABLE TB_CUSTOMER("
 						+ "CD_CUSTOMER BIGINT PRIMARY KEY, "
@@ -2,6 +2,8 @@ package com.naskar.fluentquery.jdbc;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.h2.Driver;
@@ -72,6 +74,38 @@ public class DAOPgTest {
 		Assert.assertEquals(expectedBalance, actual.get(0).getBalance());
 	}
 
+	// @Test
+	public void testSuccessUpsertAll() {
+		List<Customer> items = new ArrayList<Customer>();
+		for(long i = 1; i <= 10; i++) {
+			final long id = i;
+			items.add(new Customer() {{ setId(id); setName("teste" + id); setBalance(100.0); }});
+		}
+		
+		dao.upsertAll(Customer.class, (b) -> 
+			dao.insert(Customer.class)
+				.value(i -> i.getId()).set(b.get(i -> i.getId()))
+				.value(i -> i.getName()).set(b.get(i -> i.getName()))
+				.value(i -> i.getBalance()).set(b.get(i -> i.getBalance())), 
+			items, x -> x.getId(), Arrays.asList(x -> x.getBalance()));
+		
+		items.forEach(i -> { i.setName("changed"); i.setBalance(200.0); });
+		
+		dao.upsertAll(Customer.class, (b) -> 
+			dao.insert(Customer.class)
+				.value(i -> i.getId()).set(b.get(i -> i.getId()))
+				.value(i -> i.getName()).set(b.get(i -> i.getName()))
+				.value(i -> i.getBalance()).set(b.get(i -> i.getBalance())), 
+			items, x -> x.getId(), Arrays.asList(x -> x.getBalance()));
+		
+		List<Customer> actual = dao.list(dao.query(Customer.class)
+				.where(i -> i.getId()).gt(0L));
+		
+		Assert.assertEquals(10, actual.size());
+		Assert.assertEquals("teste1", actual.get(0).getName());
+		Assert.assertEquals(new Double(200.0), actual.get(0).getBalance());
+	}
+	
 	private void insert(Double balance) {
 		dao.executeOnConflict(
 			dao.insert(Customer.class)
@@ -1,8 +1,28 @@
 package com.naskar.fluentquery.jdbc;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.h2.Driver;
 import org.junit.After;
@@ -10,8 +30,24 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.naskar.fluentquery.Into;
+import com.naskar.fluentquery.Query;
+import com.naskar.fluentquery.binder.BinderSQL;
+import com.naskar.fluentquery.converters.NativeSQLResult;
 import com.naskar.fluentquery.domain.Customer;
+import com.naskar.fluentquery.jdbc.impl.BatchInserterImpl;
+import com.naskar.fluentquery.jdbc.impl.BulkLoaderImpl;
+import com.naskar.fluentquery.jdbc.impl.ConnectionManagerInvocationHandler;
 import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+import com.naskar.fluentquery.jdbc.impl.ExecutionMetrics;
+import com.naskar.fluentquery.jdbc.impl.H2BulkCopy;
+import com.naskar.fluentquery.jdbc.impl.LazyThreadLocalConnectionProvider;
+import com.naskar.fluentquery.jdbc.impl.MemoryLobHandle;
+import com.naskar.fluentquery.jdbc.impl.MultiRowInserterImpl;
+import com.naskar.fluentquery.jdbc.impl.QueryCache;
+import com.naskar.fluentquery.jdbc.impl.RowMapping;
+import com.naskar.fluentquery.jdbc.impl.SlowQueryJournal;
+import com.naskar.fluentquery.jdbc.impl.StatementCache;
 import com.naskar.fluentquery.mapping.MappingValueProvider;
 import com.naskar.fluentquery.model.RegionSummary;
 
@@ -98,6 +134,902 @@ public class DAOTest {
 		Assert.assertEquals(actual.get(1).getBalance().intValue(), 300);
 	}
 	
+	@Test
+	public void testSuccessListSameQueryTwice() {
+		Inserter<Customer> inserter = 
+				dao.binder(Customer.class, (b) -> 
+					dao.insert(Customer.class)
+						.value(i -> i.getId()).set(b.get(i -> i.getId()))
+						.value(i -> i.getName()).set(b.get(i -> i.getName()))
+						.value(i -> i.getBalance()).set(b.get(i -> i.getBalance()))
+				);
+		
+		inserter.insert(new Customer() {{ setId(1L); setName("teste1"); setBalance(10.0); }});
+		inserter.insert(new Customer() {{ setId(2L); setName("teste2"); }});
+		
+		List<Customer> first = dao.list(dao.query(Customer.class)
+			.where(i -> i.getName()).like("t%"));
+		
+		List<Customer> second = dao.list(dao.query(Customer.class)
+			.where(i -> i.getName()).like("teste%"));
+		
+		Assert.assertEquals(first.size(), 2);
+		Assert.assertEquals(second.size(), 2);
+		
+		Assert.assertEquals(second.get(0).getName(), "teste1");
+		Assert.assertEquals(second.get(0).getBalance(), new Double(10.0));
+		Assert.assertNull(second.get(1).getBalance());
+	}
+	
+	@Test
+	public void testSuccessClassResultFromSQL() {
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, NU_REGION_CODE, VL_BALANCE) VALUES (1, 1, 100.0)");
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, NU_REGION_CODE, VL_BALANCE) VALUES (2, 2, 300.0)");
+		
+		List<RegionSummary> actual = new ArrayList<RegionSummary>();
+		
+		for(int i = 0; i < 2; i++) {
+			dao.list("SELECT NU_REGION_CODE AS REGION, VL_BALANCE AS BALANCE FROM TB_CUSTOMER "
+					+ "WHERE VL_BALANCE > ? ORDER BY NU_REGION_CODE", 
+					Arrays.asList(0.0), RegionSummary.class, actual::add);
+		}
+		
+		Assert.assertEquals(actual.size(), 4);
+		
+		Assert.assertEquals((long)actual.get(2).getRegion(), 1L);
+		Assert.assertEquals((long)actual.get(3).getRegion(), 2L);
+		
+		Assert.assertEquals(actual.get(3).getBalance().intValue(), 300);
+	}
+	
+	@Test
+	public void testSuccessStatementCache() {
+		StatementCache cache = new StatementCache(8);
+		dao.setStatementCache(cache);
+		
+		String insert = "INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (?, ?)";
+		dao.execute(insert, Arrays.asList(1L, "teste1"));
+		dao.execute(insert, Arrays.asList(2L, "teste2"));
+		
+		List<RegionSummary> actual = new ArrayList<RegionSummary>();
+		
+		String select = "SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER WHERE CD_CUSTOMER = ?";
+		dao.list(select, Arrays.asList(1L), RegionSummary.class, actual::add);
+		dao.list(select, Arrays.asList(2L), RegionSummary.class, actual::add);
+		
+		Assert.assertEquals(cache.size(), 2);
+		
+		Assert.assertEquals(actual.size(), 2);
+		Assert.assertEquals((long)actual.get(0).getRegion(), 1L);
+		Assert.assertEquals((long)actual.get(1).getRegion(), 2L);
+		
+		cache.evict(conn);
+		
+		Assert.assertEquals(cache.size(), 0);
+	}
+	
+	@Test
+	public void testSuccessQueryTemplate() {
+		Inserter<Customer> inserter = 
+				dao.binder(Customer.class, (b) -> 
+					dao.insert(Customer.class)
+						.value(i -> i.getId()).set(b.get(i -> i.getId()))
+						.value(i -> i.getName()).set(b.get(i -> i.getName()))
+				);
+		
+		inserter.insert(new Customer() {{ setId(1L); setName("teste1"); }});
+		inserter.insert(new Customer() {{ setId(2L); setName("teste2"); }});
+		
+		QueryTemplate<Customer, Customer> byId = 
+				dao.template(Customer.class, (b) -> 
+					dao.query(Customer.class)
+						.where(i -> i.getId()).eq(b.get(i -> i.getId()))
+				);
+		
+		Customer actual1 = byId.single(new Customer() {{ setId(1L); }});
+		Customer actual2 = byId.single(new Customer() {{ setId(2L); }});
+		Customer actual3 = byId.single(new Customer() {{ setId(3L); }});
+		
+		Assert.assertEquals(actual1.getName(), "teste1");
+		Assert.assertEquals(actual2.getName(), "teste2");
+		Assert.assertNull(actual3);
+	}
+	
+	@Test
+	public void testSuccessStream() {
+		for(long i = 1; i <= 10; i++) {
+			dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, NU_REGION_CODE, VL_BALANCE) VALUES (?, ?, ?)", 
+					Arrays.asList(i, i % 2, i * 10.0));
+		}
+		
+		String sql = "SELECT NU_REGION_CODE AS REGION, VL_BALANCE AS BALANCE FROM TB_CUSTOMER "
+				+ "WHERE VL_BALANCE > ? ORDER BY CD_CUSTOMER";
+		
+		double total;
+		try(Stream<RegionSummary> s = dao.stream(sql, Arrays.asList(0.0), RegionSummary.class)) {
+			total = s.filter(i -> i.getRegion() == 0L)
+				.mapToDouble(i -> i.getBalance())
+				.sum();
+		}
+		
+		List<RegionSummary> firsts;
+		try(Stream<RegionSummary> s = dao.stream(sql, Arrays.asList(0.0), RegionSummary.class)) {
+			firsts = s.limit(3).collect(Collectors.toList());
+		}
+		
+		dao.setStreamFetchSize(2);
+		dao.setStreamMaxFetchSize(8);
+		
+		long count;
+		try(Stream<RegionSummary> s = dao.stream(sql, Arrays.asList(0.0), RegionSummary.class)) {
+			count = s.count();
+		}
+		
+		Assert.assertEquals(total, 300.0, 0.001);
+		Assert.assertEquals(count, 10);
+		
+		Assert.assertEquals(firsts.size(), 3);
+		Assert.assertEquals(firsts.get(2).getBalance(), new Double(30.0));
+	}
+	
+	@Test
+	public void testSuccessExecutionMetrics() {
+		ExecutionMetrics metrics = new ExecutionMetrics();
+		dao.addExecutionListener(metrics);
+		
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (1, 'teste1')");
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (2, 'teste2')");
+		
+		String select = "SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER WHERE CD_CUSTOMER > ?";
+		dao.list(select, Arrays.asList(0L), RegionSummary.class, i -> true);
+		
+		ExecutionMetrics.StatementMetrics inserts = metrics.getStatement(
+				"INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (?, ?)");
+		ExecutionMetrics.StatementMetrics selects = metrics.getStatement(select);
+		
+		Assert.assertEquals(metrics.getStatements().size(), 2);
+		
+		Assert.assertEquals(inserts.getCount(), 2);
+		Assert.assertEquals(inserts.getRows(), 2);
+		
+		Assert.assertEquals(selects.getCount(), 1);
+		Assert.assertEquals(selects.getRows(), 2);
+		Assert.assertEquals(selects.getLatency().getCount(), 1);
+		Assert.assertTrue(selects.getLatency().getPercentile(0.99) > 0);
+	}
+	
+	@Test
+	public void testSuccessSlowQueryJournal() {
+		SlowQueryJournal journal = new SlowQueryJournal(0, TimeUnit.MILLISECONDS, 2);
+		journal.setRedactor(o -> "***");
+		journal.setExplain(() -> {
+			try {
+				return DriverManager.getConnection("jdbc:h2:mem:test");
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		}, SlowQueryJournal::explain, Runnable::run, 1);
+		dao.addExecutionListener(journal);
+		
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(1L, "teste1"));
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(2L, "teste2"));
+		dao.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER WHERE CD_CUSTOMER > ?", 
+				Arrays.asList(0L), RegionSummary.class, i -> true);
+		
+		List<SlowQueryJournal.Entry> actual = journal.getEntries();
+		
+		Assert.assertEquals(actual.size(), 2);
+		Assert.assertEquals(actual.get(0).getRowCount(), 2);
+		Assert.assertEquals(actual.get(0).getParams(), Arrays.asList("***"));
+		Assert.assertEquals(actual.get(0).getThread(), Thread.currentThread().getName());
+		Assert.assertNotNull(actual.get(0).getPlan());
+		Assert.assertTrue(actual.get(1).getSql().startsWith("INSERT"));
+	}
+	
+	@Test
+	public void testSuccessSlowQueryJournalExplainStreamParam() {
+		SlowQueryJournal journal = new SlowQueryJournal(0, TimeUnit.MILLISECONDS, 2);
+		journal.setExplain(() -> {
+			try {
+				return DriverManager.getConnection("jdbc:h2:mem:test");
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		}, SlowQueryJournal::explain, Runnable::run, 1);
+		
+		dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(1L, "teste1"));
+		dao.addExecutionListener(journal);
+		
+		List<RegionSummary> actual = new ArrayList<RegionSummary>();
+		dao.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER WHERE DS_NAME = ?", 
+				Arrays.asList(new StringReader("teste1") {
+					
+					private boolean consumed;
+					
+					@Override
+					public int read(char[] cbuf, int off, int len) throws IOException {
+						if(consumed) {
+							throw new IOException("Stream closed");
+						}
+						int n = super.read(cbuf, off, len);
+						consumed = n < 0;
+						return n;
+					}
+					
+				}), RegionSummary.class, actual::add);
+		
+		Assert.assertEquals(actual.size(), 1);
+		Assert.assertNotNull(journal.getEntries().get(0).getPlan());
+		Assert.assertFalse(journal.getEntries().get(0).getPlan().startsWith("ERROR"));
+	}
+	
+	@Test
+	public void testSuccessMultiRowInsert() {
+		List<int[]> counts = new ArrayList<int[]>();
+		
+		try(BatchInserter<Customer> inserter = 
+				dao.multiRowBinder(Customer.class, (b) -> 
+					dao.insert(Customer.class)
+						.value(i -> i.getId()).set(b.get(i -> i.getId()))
+						.value(i -> i.getName()).set(b.get(i -> i.getName())), 
+					2, counts::add)) {
+			
+			for(long i = 1; i <= 5; i++) {
+				final long id = i;
+				inserter.add(new Customer() {{ setId(id); setName("teste" + id); }});
+			}
+		}
+		
+		dao.executeAll(Arrays.asList(
+			dao.insert(Customer.class).value(i -> i.getId()).set(6L).value(i -> i.getName()).set("teste6"),
+			dao.insert(Customer.class).value(i -> i.getId()).set(7L).value(i -> i.getName()).set("teste7")));
+		
+		List<Customer> actual = dao.list(dao.query(Customer.class)
+			.where(i -> i.getName()).like("t%"));
+		
+		Assert.assertEquals(counts.size(), 1);
+		Assert.assertArrayEquals(counts.get(0), new int[] { 2, 2, 1 });
+		Assert.assertEquals(actual.size(), 7);
+		Assert.assertEquals(actual.get(6).getName(), "teste7");
+	}
+	
+	@Test
+	public void testSuccessBulkLoader() {
+		BulkLoader<Customer> loader = 
+				dao.bulkLoader(Customer.class, (b) -> 
+					dao.insert(Customer.class)
+						.value(i -> i.getId()).set(b.get(i -> i.getId()))
+						.value(i -> i.getName()).set(b.get(i -> i.getName()))
+						.value(i -> i.getBalance()).set(b.get(i -> i.getBalance())), 
+					new H2BulkCopy());
+		
+		List<Customer> items = new ArrayList<Customer>();
+		for(long i = 1; i <= 100; i++) {
+			final long id = i;
+			items.add(new Customer() {{ setId(id); setName("teste \"" + id + "\", ok"); }});
+		}
+		items.get(0).setBalance(10.5);
+		
+		long count = loader.load(items);
+		
+		List<Customer> actual = dao.list(dao.query(Customer.class)
+			.where(i -> i.getName()).like("t%"));
+		
+		Assert.assertEquals(count, 100);
+		Assert.assertEquals(actual.size(), 100);
+		Assert.assertEquals(actual.get(0).getName(), "teste \"1\", ok");
+		Assert.assertEquals(actual.get(0).getBalance(), new Double(10.5));
+		Assert.assertNull(actual.get(1).getBalance());
+	}
+	
+	@Test
+	public void testSuccessStreamingParams() throws Exception {
+		dao.execute("CREATE TABLE TB_DOCUMENT(CD_DOCUMENT BIGINT, BN_CONTENT BLOB, DS_TEXT CLOB)");
+		
+		byte[] data = new byte[100000];
+		Arrays.fill(data, (byte) 7);
+		
+		Path file = Files.createTempFile("document", ".bin");
+		Files.write(file, data);
+		
+		StringBuilder text = new StringBuilder();
+		while(text.length() < 100000) {
+			text.append("teste ");
+		}
+		
+		String insert = "INSERT INTO TB_DOCUMENT(CD_DOCUMENT, BN_CONTENT, DS_TEXT) VALUES (?, ?, ?)";
+		dao.execute(insert, Arrays.asList(1L, file, text.toString()));
+		dao.execute(insert, Arrays.asList(2L, file.toFile(), null));
+		dao.execute(insert, Arrays.asList(3L, ByteBuffer.wrap(data), null));
+		dao.execute(insert, Arrays.asList(4L, new MemoryLobHandle(data), null));
+		
+		Files.delete(file);
+		
+		List<Object[]> actual = new ArrayList<Object[]>();
+		dao.list("SELECT BN_CONTENT, DS_TEXT FROM TB_DOCUMENT ORDER BY CD_DOCUMENT", null, rs -> {
+			try {
+				actual.add(new Object[] { rs.getBytes(1), rs.getString(2) });
+				return true;
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		
+		Assert.assertEquals(actual.size(), 4);
+		for(Object[] row : actual) {
+			Assert.assertArrayEquals((byte[]) row[0], data);
+		}
+		Assert.assertEquals(actual.get(0)[1], text.toString());
+	}
+	
+	@Test
+	public void testSuccessPartition() {
+		for(long i = 1; i <= 10; i++) {
+			dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(i, "teste" + i));
+		}
+		
+		List<Integer> sizes = new ArrayList<Integer>();
+		for(Partition<Customer> p : dao.partition(dao.query(Customer.class), i -> i.getId(), 3)) {
+			List<Customer> l = new ArrayList<Customer>();
+			p.scan(l::add);
+			sizes.add(l.size());
+		}
+		
+		Assert.assertEquals(sizes, Arrays.asList(4, 3, 3));
+		
+		sizes.clear();
+		for(Partition<Customer> p : dao.partitionByModulo(dao.query(Customer.class), i -> i.getId(), 3)) {
+			List<Customer> l = new ArrayList<Customer>();
+			p.scan(l::add);
+			sizes.add(l.size());
+		}
+		
+		Assert.assertEquals(sizes, Arrays.asList(3, 4, 3));
+		
+		try {
+			dao.partition(dao.query(Customer.class), i -> i.getName(), 3);
+			Assert.fail();
+		} catch(IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().contains("partitionByModulo"));
+		}
+	}
+	
+	@Test
+	public void testSuccessPaginate() {
+		for(long i = 1; i <= 25; i++) {
+			dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME, NU_REGION_CODE) VALUES (?, ?, ?)", 
+					Arrays.asList(i, "teste" + i, i % 3));
+		}
+		
+		Iterator<List<Customer>> pages = dao.paginate(dao.query(Customer.class)
+			.where(i -> i.getName()).like("t%"), i -> i.getId(), 10);
+		
+		List<Integer> sizes = new ArrayList<Integer>();
+		List<Long> ids = new ArrayList<Long>();
+		pages.forEachRemaining(p -> {
+			sizes.add(p.size());
+			p.forEach(c -> ids.add(c.getId()));
+		});
+		
+		Assert.assertEquals(sizes, Arrays.asList(10, 10, 5));
+		Assert.assertEquals(ids.get(0), new Long(1L));
+		Assert.assertEquals(ids.get(24), new Long(25L));
+		
+		Iterator<List<Customer>> composite = dao.paginate(dao.query(Customer.class), 
+			Arrays.asList(i -> i.getRegionCode(), i -> i.getId()), true, 4);
+		
+		List<Customer> first = composite.next();
+		List<Customer> second = composite.next();
+		
+		Assert.assertEquals((long) first.get(0).getRegionCode(), 2L);
+		Assert.assertEquals((long) first.get(0).getId(), 23L);
+		Assert.assertEquals((long) second.get(0).getId(), 11L);
+	}
+	
+	@Test
+	public void testSuccessLoadRelation() {
+		for(long i = 1; i <= 10; i++) {
+			dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, DS_NAME, NU_REGION_CODE) VALUES (?, ?, ?)", 
+					Arrays.asList(i, "teste" + i, i % 4));
+		}
+		
+		List<Customer> parents = new ArrayList<Customer>();
+		for(long i = 0; i < 5; i++) {
+			Customer c = new Customer();
+			c.setRegionCode(i);
+			parents.add(c);
+		}
+		
+		dao.setRelationBatchSize(2);
+		
+		Map<Long, List<Customer>> actual = dao.loadRelation(parents, i -> i.getRegionCode(), 
+			dao.query(Customer.class).where(i -> i.getName()).like("t%"), i -> i.getRegionCode());
+		
+		List<List<Customer>> children = new ArrayList<List<Customer>>();
+		dao.loadRelation(parents, i -> i.getRegionCode(), 
+			dao.query(Customer.class), i -> i.getRegionCode(), (p, l) -> children.add(l));
+		
+		Assert.assertEquals(actual.size(), 4);
+		Assert.assertEquals(actual.get(1L).size(), 3);
+		Assert.assertEquals(actual.get(3L).size(), 2);
+		Assert.assertNull(actual.get(4L));
+		
+		Assert.assertEquals(children.size(), 5);
+		Assert.assertEquals(children.get(0).size(), 2);
+		Assert.assertTrue(children.get(4).isEmpty());
+	}
+	
+	@Test
+	public void testSuccessColumns() {
+		for(long i = 1; i <= 100; i++) {
+			dao.execute("INSERT INTO TB_CUSTOMER(CD_CUSTOMER, VL_BALANCE, NU_REGION_CODE) VALUES (?, ?, ?)", 
+					Arrays.asList(i, i == 100 ? null : 10.0, i % 3));
+		}
+		
+		ColumnarResult actual = dao.columns("SELECT NU_REGION_CODE AS REGION, COUNT(*) AS TOTAL, "
+				+ "SUM(VL_BALANCE) AS BALANCE, MAX(DS_NAME) AS NAME FROM TB_CUSTOMER "
+				+ "GROUP BY NU_REGION_CODE ORDER BY NU_REGION_CODE", null);
+		
+		Assert.assertEquals(actual.getRowCount(), 3);
+		Assert.assertEquals(actual.getType(0), ColumnarResult.Type.INT);
+		Assert.assertEquals(actual.getType(1), ColumnarResult.Type.LONG);
+		Assert.assertEquals(actual.getType(2), ColumnarResult.Type.DOUBLE);
+		
+		Assert.assertArrayEquals(actual.getInts("REGION"), new int[] { 0, 1, 2 });
+		Assert.assertArrayEquals(actual.getLongs("TOTAL"), new long[] { 33, 34, 33 });
+		Assert.assertArrayEquals(actual.getDoubles("BALANCE"), new double[] { 330.0, 330.0, 330.0 }, 0.001);
+		Assert.assertTrue(actual.isNull(3, 0));
+		Assert.assertFalse(actual.isNull(2, 1));
+	}
+	
+	@Test
+	public void testSuccessColumnsEmpty() {
+		ColumnarResult actual = dao.columns("SELECT NU_REGION_CODE AS REGION, COUNT(*) AS TOTAL FROM TB_CUSTOMER "
+				+ "WHERE CD_CUSTOMER < 0 GROUP BY NU_REGION_CODE", null);
+		
+		Assert.assertEquals(actual.getRowCount(), 0);
+		Assert.assertEquals(actual.getColumnCount(), 2);
+		Assert.assertEquals(actual.getType(1), ColumnarResult.Type.LONG);
+		Assert.assertArrayEquals(actual.getLongs("TOTAL"), new long[0]);
+	}
+	
+	@Test
+	public void testSuccessColumnsKeepDecimals() {
+		ColumnarResult actual = dao.columns("SELECT CAST(0.1 AS DECIMAL(10, 2)) AS AMOUNT, "
+				+ "CAST(7 AS DECIMAL(10, 0)) AS CODE", null);
+		
+		Assert.assertEquals(actual.getType(0), ColumnarResult.Type.OBJECT);
+		Assert.assertEquals(actual.getType(1), ColumnarResult.Type.LONG);
+		
+		Assert.assertEquals(actual.getObjects("AMOUNT")[0], new BigDecimal("0.10"));
+		Assert.assertArrayEquals(actual.getLongs("CODE"), new long[] { 7 });
+	}
+	
+	@Test
+	public void testSuccessQueryCache() {
+		QueryCache cache = new QueryCache(10, 1, TimeUnit.MINUTES);
+		dao.setQueryCache(cache);
+		
+		dao.execute(dao.insert(Customer.class)
+			.value(i -> i.getId()).set(1L)
+			.value(i -> i.getName()).set("teste1"));
+		
+		Query<Customer> query = dao.query(Customer.class)
+			.where(i -> i.getName()).like("t%");
+		
+		Assert.assertEquals(dao.list(query).size(), 1);
+		Assert.assertEquals(dao.list(query).size(), 1);
+		
+		Assert.assertEquals(cache.getMisses(), 1);
+		Assert.assertEquals(cache.getHits(), 1);
+		
+		dao.execute(dao.insert(Customer.class)
+			.value(i -> i.getId()).set(2L)
+			.value(i -> i.getName()).set("teste2"));
+		
+		Assert.assertEquals(cache.size(), 0);
+		Assert.assertEquals(dao.list(query).size(), 2);
+		
+		cache.exclude(Customer.class);
+		dao.execute("DELETE FROM TB_CUSTOMER WHERE CD_CUSTOMER = 2");
+		
+		Assert.assertEquals(dao.list(query).size(), 1);
+		Assert.assertEquals(cache.getMisses(), 2);
+		
+		Assert.assertEquals(dao.list(query, true).size(), 1);
+		Assert.assertEquals(dao.single(query, true).getName(), "teste1");
+		Assert.assertEquals(cache.getMisses(), 3);
+		Assert.assertEquals(cache.getHits(), 2);
+		
+		cache.include(Customer.class);
+		
+		Assert.assertEquals(dao.list(query, false).size(), 1);
+		Assert.assertEquals(cache.getHits(), 2);
+	}
+	
+	@Test
+	public void testSuccessQueryCacheInvalidatedWithoutScope() throws Exception {
+		QueryCache cache = new QueryCache(10, 1, TimeUnit.MINUTES);
+		dao.setQueryCache(cache);
+		
+		String sql = "select e0.* from TB_CUSTOMER e0 where e0.DS_NAME like ?";
+		List<Object> params = Arrays.asList("t%");
+		List<Customer> rows = Arrays.asList(new Customer());
+		
+		conn.setAutoCommit(false);
+		
+		cache.put(sql, params, rows, cache.stamp());
+		dao.execute("INSERT INTO TB_CUSTOMER (CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(1L, "teste1"));
+		
+		Assert.assertFalse(cache.hasPending());
+		Assert.assertEquals(cache.size(), 0);
+		
+		conn.commit();
+		
+		cache.put(sql, params, rows, cache.stamp());
+		Assert.assertEquals(cache.get(sql, params).size(), 1);
+	}
+	
+	@Test
+	public void testSuccessRowMappingMatches() throws Exception {
+		MappingValueProvider<Customer> mapping = new MappingValueProvider<Customer>();
+		
+		try(Statement st = conn.createStatement()) {
+			RowMapping<Customer> plan;
+			try(ResultSet rs = st.executeQuery("SELECT CD_CUSTOMER, DS_NAME FROM TB_CUSTOMER")) {
+				plan = new RowMapping<Customer>(Customer.class, mapping, rs.getMetaData());
+				Assert.assertTrue(plan.matches(rs.getMetaData()));
+			}
+			
+			try(ResultSet rs = st.executeQuery("SELECT DS_NAME, CD_CUSTOMER FROM TB_CUSTOMER")) {
+				Assert.assertFalse(plan.matches(rs.getMetaData()));
+			}
+			
+			try(ResultSet rs = st.executeQuery("SELECT CD_CUSTOMER, VL_BALANCE AS DS_NAME FROM TB_CUSTOMER")) {
+				Assert.assertFalse(plan.matches(rs.getMetaData()));
+			}
+		}
+	}
+	
+	@Test
+	public void testSuccessTypedReaders() throws Exception {
+		TimeZone zone = TimeZone.getDefault();
+		TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+		
+		try(Statement st = conn.createStatement()) {
+			st.execute("CREATE TABLE TB_TYPES(NU_LONG BIGINT, NU_INT INT, NU_DOUBLE DOUBLE, FL_BOOLEAN BOOLEAN, "
+					+ "NU_FLOAT REAL, NU_SHORT SMALLINT, DS_TEXT VARCHAR(32), DT_DATE DATE, DT_TIMESTAMP TIMESTAMP)");
+			st.execute("INSERT INTO TB_TYPES VALUES (1, 2, 3.5, TRUE, 4.5, 5, 'text', "
+					+ "DATE '1500-03-01', TIMESTAMP '2021-03-28 02:30:00')");
+			st.execute("INSERT INTO TB_TYPES VALUES (NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL)");
+			
+			String sql = "SELECT * FROM TB_TYPES ORDER BY NU_LONG NULLS LAST";
+			MappingValueProvider<Customer> mapping = new MappingValueProvider<Customer>();
+			
+			try(ResultSet rs = st.executeQuery(sql)) {
+				RowMapping<Customer>.Row row = new RowMapping<Customer>(Customer.class, mapping, rs.getMetaData())
+						.row(rs, null);
+				
+				rs.next();
+				Assert.assertEquals(row.get("NU_LONG", Long.class), new Long(1L));
+				Assert.assertEquals(row.get("NU_INT", Integer.class), new Integer(2));
+				Assert.assertEquals(row.get("NU_DOUBLE", Double.class), new Double(3.5));
+				Assert.assertEquals(row.get("FL_BOOLEAN", Boolean.class), Boolean.TRUE);
+				Assert.assertEquals(row.get("NU_FLOAT", Float.class), new Float(4.5f));
+				Assert.assertEquals(row.get("NU_SHORT", Short.class), new Short((short) 5));
+				Assert.assertEquals(row.get("DS_TEXT", String.class), "text");
+				Assert.assertEquals(row.get("DT_DATE", LocalDate.class), LocalDate.of(1500, 3, 1));
+				Assert.assertEquals(row.get("DT_TIMESTAMP", LocalDateTime.class), LocalDateTime.of(2021, 3, 28, 2, 30));
+				
+				rs.next();
+				Assert.assertNull(row.get("NU_LONG", Long.class));
+				Assert.assertNull(row.get("NU_INT", Integer.class));
+				Assert.assertNull(row.get("NU_DOUBLE", Double.class));
+				Assert.assertNull(row.get("FL_BOOLEAN", Boolean.class));
+				Assert.assertNull(row.get("NU_FLOAT", Float.class));
+				Assert.assertNull(row.get("NU_SHORT", Short.class));
+				Assert.assertNull(row.get("DS_TEXT", String.class));
+				Assert.assertNull(row.get("DT_DATE", LocalDate.class));
+				Assert.assertNull(row.get("DT_TIMESTAMP", LocalDateTime.class));
+			}
+			
+			try(ResultSet rs = st.executeQuery(sql)) {
+				RowMapping<Customer>.Row row = new RowMapping<Customer>(Customer.class, mapping, rs.getMetaData())
+						.row(rs, null);
+				
+				rs.next();
+				Assert.assertEquals((long) row.get("NU_LONG", long.class), 1L);
+				Assert.assertEquals((int) row.get("NU_INT", int.class), 2);
+				Assert.assertEquals(row.get("NU_DOUBLE", double.class), 3.5, 0.001);
+				Assert.assertTrue(row.get("FL_BOOLEAN", boolean.class));
+				Assert.assertEquals(row.get("NU_FLOAT", float.class), 4.5f, 0.001f);
+				Assert.assertEquals((short) row.get("NU_SHORT", short.class), (short) 5);
+				
+				rs.next();
+				Assert.assertEquals((long) row.get("NU_LONG", long.class), 0L);
+				Assert.assertEquals((int) row.get("NU_INT", int.class), 0);
+				Assert.assertEquals(row.get("NU_DOUBLE", double.class), 0.0, 0.001);
+				Assert.assertFalse(row.get("FL_BOOLEAN", boolean.class));
+				Assert.assertEquals(row.get("NU_FLOAT", float.class), 0.0f, 0.001f);
+				Assert.assertEquals((short) row.get("NU_SHORT", short.class), (short) 0);
+			}
+			
+		} finally {
+			TimeZone.setDefault(zone);
+		}
+	}
+	
+	@Test
+	public void testFailBatchInserterDoesNotReplay() {
+		List<int[]> batches = new ArrayList<int[]>();
+		
+		BatchInserter<Long> inserter = new BatchInserterImpl<Long>(connectionProvider, (id) -> 
+			result("INSERT INTO TB_CUSTOMER(CD_CUSTOMER) VALUES (?)", id), 2, batches::add);
+		
+		try {
+			inserter.add(1L);
+			inserter.add(1L);
+			Assert.fail();
+		} catch(RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof SQLException);
+		}
+		
+		Assert.assertEquals(inserter.flush().length, 0);
+		inserter.close();
+		
+		inserter.add(2L);
+		inserter.close();
+		
+		Assert.assertEquals(batches.size(), 1);
+		Assert.assertArrayEquals(batches.get(0), new int[] { 1 });
+	}
+	
+	@Test
+	public void testSuccessStatementCacheEvictedOnScopeEnd() throws Exception {
+		LazyThreadLocalConnectionProvider provider = new LazyThreadLocalConnectionProvider(() -> {
+			try {
+				return DriverManager.getConnection("jdbc:h2:mem:test");
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		}, false);
+		
+		DAOImpl scoped = new DAOImpl(provider);
+		StatementCache cache = new StatementCache(8);
+		scoped.setStatementCache(cache);
+		
+		Object owner = new Object();
+		provider.begin(owner);
+		
+		List<RegionSummary> actual = new ArrayList<RegionSummary>();
+		scoped.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER", null, RegionSummary.class, actual::add);
+		scoped.list("SELECT NU_REGION_CODE AS REGION FROM TB_CUSTOMER", null, RegionSummary.class, actual::add);
+		
+		Assert.assertEquals(cache.size(), 2);
+		
+		Connection scopeConn = provider.end(owner);
+		
+		Assert.assertEquals(cache.size(), 0);
+		Assert.assertEquals(cache.getConnectionCount(), 0);
+		
+		scopeConn.close();
+	}
+	
+	@Test
+	public void testSuccessStatementCacheDropsClosedConnections() throws Exception {
+		StatementCache cache = new StatementCache(8);
+		cache.setMaxTotal(2);
+		
+		String select = "SELECT CD_CUSTOMER FROM TB_CUSTOMER";
+		
+		Connection first = DriverManager.getConnection("jdbc:h2:mem:test");
+		cache.release(first, select, false, cache.prepare(first, select, false));
+		first.close();
+		
+		Connection second = DriverManager.getConnection("jdbc:h2:mem:test");
+		cache.release(second, select, false, cache.prepare(second, select, false));
+		
+		Assert.assertEquals(cache.getConnectionCount(), 1);
+		
+		Connection third = DriverManager.getConnection("jdbc:h2:mem:test");
+		cache.release(third, select, false, cache.prepare(third, select, false));
+		cache.release(third, select + " WHERE 1 = 1", false, cache.prepare(third, select + " WHERE 1 = 1", false));
+		
+		Assert.assertEquals(cache.getConnectionCount(), 1);
+		Assert.assertEquals(cache.size(), 2);
+		
+		second.close();
+		third.close();
+	}
+	
+	@Test
+	public void testSuccessExecutionEventTypes() {
+		List<ExecutionEvent> events = new ArrayList<ExecutionEvent>();
+		ExecutionListener listener = events::add;
+		dao.addExecutionListener(listener);
+		
+		List<ExecutionListener> listeners = Arrays.asList(listener);
+		String insert = "INSERT INTO TB_CUSTOMER(CD_CUSTOMER) VALUES (?)";
+		
+		dao.execute(insert, Arrays.asList(1L));
+		dao.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER", null, RegionSummary.class, i -> true);
+		
+		try(Stream<RegionSummary> s = dao.stream("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER", 
+				null, RegionSummary.class)) {
+			s.count();
+		}
+		
+		BatchInserterImpl<Long> batch = new BatchInserterImpl<Long>(connectionProvider, 
+				(id) -> result(insert, id), 10, null);
+		batch.setListeners(listeners);
+		batch.add(2L);
+		batch.add(3L);
+		batch.close();
+		
+		MultiRowInserterImpl<Long> multiRow = new MultiRowInserterImpl<Long>(connectionProvider, 
+				(id) -> result(insert, id), 10, 100, null);
+		multiRow.setListeners(listeners);
+		multiRow.add(4L);
+		multiRow.add(5L);
+		multiRow.close();
+		
+		BulkLoaderImpl<Long> loader = new BulkLoaderImpl<Long>(connectionProvider, new H2BulkCopy(), 
+				"TB_CUSTOMER", Arrays.asList("CD_CUSTOMER"), (id) -> Arrays.asList(id));
+		loader.setListeners(listeners);
+		loader.load(Arrays.asList(6L, 7L));
+		
+		Assert.assertEquals(events.stream().map(e -> e.getType()).collect(Collectors.toList()), Arrays.asList(
+				ExecutionEvent.Type.UPDATE, ExecutionEvent.Type.QUERY, ExecutionEvent.Type.QUERY, 
+				ExecutionEvent.Type.BATCH, ExecutionEvent.Type.BATCH, ExecutionEvent.Type.BATCH));
+		
+		Assert.assertEquals(events.get(2).getRowCount(), 1);
+		Assert.assertEquals(events.get(3).getRowCount(), 2);
+		Assert.assertEquals(events.get(4).getRowCount(), 2);
+		Assert.assertEquals(events.get(5).getRowCount(), 2);
+		Assert.assertTrue(events.get(5).getSql().startsWith("COPY TB_CUSTOMER"));
+	}
+	
+	private static NativeSQLResult result(String sql, Object... values) {
+		return new NativeSQLResult() {
+			
+			@Override
+			public String sqlValues() {
+				return sql;
+			}
+			
+			@Override
+			public List<Object> values() {
+				return Arrays.asList(values);
+			}
+			
+		};
+	}
+	
+	@Test
+	public void testSuccessQueryCacheStamp() {
+		QueryCache cache = new QueryCache(10, 1, TimeUnit.MINUTES);
+		
+		String sql = "select e0.* from TB_CUSTOMER e0 where e0.DS_NAME like ?";
+		List<Object> params = Arrays.asList("t%");
+		List<Customer> rows = Arrays.asList(new Customer());
+		
+		long stamp = cache.stamp();
+		cache.invalidateSQL("insert into TB_CUSTOMER (CD_CUSTOMER) values (?)");
+		cache.put(sql, params, rows, stamp);
+		
+		Assert.assertNull(cache.get(sql, params));
+		
+		stamp = cache.stamp();
+		cache.invalidateSQL("update TB_ACCOUNT set VL_BALANCE = ?");
+		cache.put(sql, params, rows, stamp);
+		
+		Assert.assertEquals(cache.get(sql, params).size(), 1);
+	}
+	
+	@Test
+	public void testSuccessQueryCacheDeferredToCommit() {
+		QueryCache cache = new QueryCache(10, 1, TimeUnit.MINUTES);
+		
+		LazyThreadLocalConnectionProvider provider = new LazyThreadLocalConnectionProvider(() -> {
+			try {
+				return DriverManager.getConnection("jdbc:h2:mem:test");
+			} catch(SQLException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		DAOImpl target = new DAOImpl(provider);
+		target.setQueryCache(cache);
+		
+		String sql = "select e0.* from TB_CUSTOMER e0 where e0.DS_NAME like ?";
+		List<Object> params = Arrays.asList("t%");
+		List<Customer> rows = Arrays.asList(new Customer());
+		
+		long[] stamp = new long[1];
+		
+		Runnable commit = scoped(provider, cache, () -> {
+			target.execute("INSERT INTO TB_CUSTOMER (CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(1L, "teste1"));
+			
+			Assert.assertTrue(cache.hasPending());
+			Assert.assertEquals(cache.size(), 0);
+			
+			stamp[0] = cache.stamp();
+			cache.put(sql, params, rows, stamp[0]);
+			Assert.assertEquals(cache.size(), 1);
+		});
+		commit.run();
+		
+		Assert.assertFalse(cache.hasPending());
+		Assert.assertEquals(cache.size(), 0);
+		
+		cache.put(sql, params, rows, stamp[0]);
+		Assert.assertNull(cache.get(sql, params));
+		
+		Runnable rollback = scoped(provider, cache, () -> {
+			target.execute("INSERT INTO TB_CUSTOMER (CD_CUSTOMER, DS_NAME) VALUES (?, ?)", Arrays.asList(2L, "teste2"));
+			throw new IllegalStateException("rollback");
+		});
+		
+		try {
+			rollback.run();
+			Assert.fail();
+		} catch(IllegalStateException e) {
+			Assert.assertFalse(cache.hasPending());
+		}
+		
+		List<RegionSummary> actual = new ArrayList<RegionSummary>();
+		dao.list("SELECT CD_CUSTOMER AS REGION FROM TB_CUSTOMER", null, RegionSummary.class, actual::add);
+		
+		Assert.assertEquals(actual.size(), 1);
+	}
+	
+	private static Runnable scoped(ConnectionScope scope, QueryCache cache, Runnable work) {
+		ConnectionManagerInvocationHandler handler = new ConnectionManagerInvocationHandler(work, scope);
+		handler.setQueryCache(cache);
+		
+		return (Runnable) java.lang.reflect.Proxy.newProxyInstance(Runnable.class.getClassLoader(), 
+				new Class<?>[] { Runnable.class }, handler);
+	}
+	
+	@Test
+	public void testSuccessUpsertAllRendersSQL() {
+		List<ExecutionEvent> events = new ArrayList<ExecutionEvent>();
+		dao.addExecutionListener(events::add);
+		dao.setUpsertMultiRow(true);
+		
+		List<Customer> items = Arrays.asList(
+			new Customer() {{ setId(1L); setName("teste1"); setBalance(100.0); }},
+			new Customer() {{ setId(2L); setName("teste2"); setBalance(200.0); }});
+		
+		Function<BinderSQL<Customer>, Into<Customer>> into = (b) -> 
+			dao.insert(Customer.class)
+				.value(i -> i.getId()).set(b.get(i -> i.getId()))
+				.value(i -> i.getName()).set(b.get(i -> i.getName()))
+				.value(i -> i.getBalance()).set(b.get(i -> i.getBalance()));
+		
+		// H2 does not support on conflict, only the statement sent to the driver is checked
+		try {
+			dao.upsertAll(Customer.class, into, items, x -> x.getId(), 
+					Arrays.asList(x -> x.getName(), x -> x.getBalance()));
+		} catch(RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof SQLException);
+		}
+		
+		try {
+			dao.upsertAll(Customer.class, into, items, x -> x.getId(), new ArrayList<Function<Customer, ?>>());
+		} catch(RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof SQLException);
+		}
+		
+		Assert.assertEquals(events.size(), 2);
+		
+		Assert.assertTrue(events.get(0).getSql().endsWith(
+				" on conflict (CD_CUSTOMER) do update set DS_NAME = excluded.DS_NAME, VL_BALANCE = excluded.VL_BALANCE"));
+		Assert.assertEquals(events.get(0).getParams(), Arrays.asList(1L, "teste1", 100.0, 2L, "teste2", 200.0));
+		
+		Assert.assertTrue(events.get(1).getSql().endsWith(" on conflict (CD_CUSTOMER) do nothing"));
+		Assert.assertEquals(events.get(1).getParams(), Arrays.asList(1L, "teste1", 100.0, 2L, "teste2", 200.0));
+	}
+	
 	private void createCustomer() {
 		dao.execute("CREATE TABLE TB_CUSTOMER("
 						+ "CD_CUSTOMER BIGINT PRIMARY KEY, "
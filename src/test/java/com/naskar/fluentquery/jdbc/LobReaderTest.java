@@ -0,0 +1,170 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.h2.Driver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.naskar.fluentquery.jdbc.impl.BlobLobHandle;
+import com.naskar.fluentquery.jdbc.impl.FileLobHandle;
+import com.naskar.fluentquery.jdbc.impl.LobReader;
+import com.naskar.fluentquery.jdbc.impl.MemoryLobHandle;
+
+public class LobReaderTest {
+	
+	private Connection conn;
+	private byte[] data;
+	
+	@Before
+	public void setup() throws Exception {
+		
+		Driver.class.getName();
+		
+		conn = DriverManager.getConnection("jdbc:h2:mem:lob");
+		conn.createStatement().execute("CREATE TABLE TB_DOCUMENT(CD_DOCUMENT BIGINT, BN_CONTENT VARBINARY)");
+		
+		data = new byte[100000];
+		for(int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		
+		try(PreparedStatement st = conn.prepareStatement("INSERT INTO TB_DOCUMENT VALUES (?, ?)")) {
+			st.setLong(1, 1L);
+			st.setBytes(2, data);
+			st.executeUpdate();
+			
+			st.setLong(1, 2L);
+			st.setBytes(2, null);
+			st.executeUpdate();
+		}
+	}
+	
+	@After
+	public void cleanup() throws Exception {
+		conn.close();
+	}
+	
+	@Test
+	public void testSuccessReadInMemory() throws Exception {
+		try(ResultSet rs = select(1L); LobHandle lob = LobReader.read(rs, 1, data.length * 2)) {
+			
+			Assert.assertTrue(lob instanceof MemoryLobHandle);
+			Assert.assertEquals(lob.size(), data.length);
+			Assert.assertArrayEquals(((MemoryLobHandle) lob).toByteArray(), data);
+		}
+	}
+	
+	@Test
+	public void testSuccessSpillToFile() throws Exception {
+		FileLobHandle file;
+		
+		try(ResultSet rs = select(1L); LobHandle lob = LobReader.read(rs, 1, 1024)) {
+			
+			Assert.assertTrue(lob instanceof FileLobHandle);
+			Assert.assertEquals(lob.size(), data.length);
+			
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			Assert.assertEquals(lob.transferTo(Channels.newChannel(out)), data.length);
+			Assert.assertArrayEquals(out.toByteArray(), data);
+			
+			ByteBuffer buffer = ByteBuffer.allocate(10);
+			Assert.assertEquals(lob.read(500, buffer), 10);
+			Assert.assertArrayEquals(buffer.array(), Arrays.copyOfRange(data, 500, 510));
+			
+			file = (FileLobHandle) lob;
+		}
+		
+		Assert.assertFalse(Files.exists(file.getFile()));
+	}
+	
+	@Test
+	public void testSuccessReadIntoBuffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+		
+		try(ResultSet rs = select(1L)) {
+			Assert.assertEquals(LobReader.read(rs, 1, buffer), data.length);
+		}
+		
+		try(ResultSet rs = select(2L)) {
+			Assert.assertEquals(LobReader.read(rs, 1, buffer), -1);
+			Assert.assertNull(LobReader.read(rs, 1, 1024));
+		}
+		
+		buffer.flip();
+		Assert.assertEquals(buffer.get(99999), data[99999]);
+	}
+	
+	@Test
+	public void testSuccessUnclosedSpillDeleted() throws Exception {
+		FileLobHandle handle;
+		
+		try(ResultSet rs = select(1L)) {
+			handle = (FileLobHandle) LobReader.read(rs, 1, 1024);
+		}
+		
+		Path file = handle.getFile();
+		Assert.assertTrue(Files.exists(file));
+		
+		// what the collector does once the handle is unreachable
+		Field cleanup = FileLobHandle.class.getDeclaredField("cleanup");
+		cleanup.setAccessible(true);
+		Assert.assertTrue(((Reference<?>) cleanup.get(handle)).enqueue());
+		
+		FileLobHandle.purge();
+		
+		Assert.assertFalse(Files.exists(file));
+	}
+	
+	@Test
+	public void testFailLazyBlobAfterResultSetClosed() throws Exception {
+		conn.createStatement().execute("CREATE TABLE TB_BLOB(BL_CONTENT BLOB)");
+		
+		try(PreparedStatement st = conn.prepareStatement("INSERT INTO TB_BLOB VALUES (?)")) {
+			st.setBytes(1, data);
+			st.executeUpdate();
+		}
+		
+		LobHandle lob;
+		
+		try(Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT BL_CONTENT FROM TB_BLOB")) {
+			rs.next();
+			lob = new BlobLobHandle(rs.getBlob(1), rs);
+			
+			Assert.assertEquals(lob.size(), data.length);
+		}
+		
+		try {
+			lob.size();
+			Assert.fail();
+		} catch(IOException e) {
+			Assert.assertTrue(e.getMessage().startsWith("Lazy LOB"));
+		}
+		
+		lob.close();
+	}
+	
+	private ResultSet select(Long id) throws Exception {
+		PreparedStatement st = conn.prepareStatement("SELECT BN_CONTENT FROM TB_DOCUMENT WHERE CD_DOCUMENT = ?");
+		st.setLong(1, id);
+		ResultSet rs = st.executeQuery();
+		rs.next();
+		return rs;
+	}
+	
+}
@@ -0,0 +1,171 @@
+package com.naskar.fluentquery.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.h2.Driver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.naskar.fluentquery.jdbc.impl.DAOImpl;
+import com.naskar.fluentquery.jdbc.impl.RoutingConnectionProvider;
+import com.naskar.fluentquery.model.RegionSummary;
+
+public class RoutingConnectionProviderTest {
+	
+	private static final String SELECT = "SELECT NU_REGION AS REGION FROM TB_NODE";
+	
+	private List<Connection> keepers;
+	private Connection primary;
+	private boolean broken;
+	
+	private RoutingConnectionProvider router;
+	private DAOImpl dao;
+	
+	@Before
+	public void setup() throws Exception {
+		
+		Driver.class.getName();
+		
+		keepers = new ArrayList<Connection>();
+		
+		primary = open("primary", 0);
+		
+		List<ConnectionProvider> replicas = new ArrayList<ConnectionProvider>();
+		for(int i = 1; i <= 2; i++) {
+			open("replica" + i, i);
+			
+			String url = "jdbc:h2:mem:replica" + i;
+			boolean fails = i == 2;
+			replicas.add(() -> {
+				if(fails && broken) {
+					throw new RuntimeException("Replica down: " + url);
+				}
+				try {
+					return DriverManager.getConnection(url);
+				} catch(Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+		}
+		
+		router = new RoutingConnectionProvider(() -> primary, replicas);
+		dao = new DAOImpl(router);
+	}
+	
+	@After
+	public void cleanup() throws Exception {
+		for(Connection conn : keepers) {
+			conn.close();
+		}
+	}
+	
+	@Test
+	public void testSuccessRoundRobin() {
+		List<Long> actual = new ArrayList<Long>();
+		for(int i = 0; i < 4; i++) {
+			actual.add(read());
+		}
+		
+		dao.execute("UPDATE TB_NODE SET NU_REGION = ?", Arrays.asList(10L));
+		
+		Assert.assertEquals(actual, Arrays.asList(1L, 2L, 1L, 2L));
+		Assert.assertEquals((long) read(), 1L);
+		Assert.assertEquals(router.getOutstanding(0), 0);
+		Assert.assertEquals(router.getOutstanding(1), 0);
+	}
+	
+	@Test
+	public void testSuccessReadAfterWriteInScope() {
+		Object owner = new Object();
+		
+		router.begin(owner);
+		
+		long before = read();
+		dao.execute("UPDATE TB_NODE SET NU_REGION = ?", Arrays.asList(10L));
+		long after = read();
+		
+		router.end(owner);
+		
+		Assert.assertEquals(before, 0L);
+		Assert.assertEquals(after, 10L);
+		Assert.assertEquals((long) read(), 1L);
+	}
+	
+	@Test
+	public void testSuccessLeastOutstanding() {
+		router.setBalance(RoutingConnectionProvider.Balance.LEAST_OUTSTANDING);
+		
+		List<Long> actual = new ArrayList<Long>();
+		try(Stream<RegionSummary> s = dao.stream(SELECT, null, RegionSummary.class)) {
+			
+			Assert.assertEquals(router.getOutstanding(0), 1);
+			
+			for(int i = 0; i < 3; i++) {
+				actual.add(read());
+			}
+		}
+		
+		Assert.assertEquals(actual, Arrays.asList(2L, 2L, 2L));
+		Assert.assertEquals(router.getOutstanding(0), 0);
+	}
+	
+	@Test
+	public void testSuccessFailedReplicaOutOfRotation() {
+		broken = true;
+		
+		List<Long> actual = new ArrayList<Long>();
+		for(int i = 0; i < 4; i++) {
+			actual.add(read());
+		}
+		
+		Assert.assertEquals(actual, Arrays.asList(1L, 1L, 1L, 1L));
+		Assert.assertFalse(router.isAvailable(1));
+		
+		router.setFailureCooldown(0L);
+		broken = false;
+		
+		Assert.assertTrue(router.isAvailable(1));
+		Assert.assertEquals((long) read(), 2L);
+	}
+	
+	@Test
+	public void testSuccessNestedReadOnSameConnection() throws Exception {
+		Connection shared = DriverManager.getConnection("jdbc:h2:mem:replica1");
+		
+		RoutingConnectionProvider bound = new RoutingConnectionProvider(() -> primary, 
+				Arrays.<ConnectionProvider>asList(() -> shared));
+		DAOImpl target = new DAOImpl(bound);
+		
+		List<Long> actual = new ArrayList<Long>();
+		target.list(SELECT, null, RegionSummary.class, (outer) -> {
+			target.list(SELECT, null, RegionSummary.class, (inner) -> actual.add(inner.getRegion()));
+			return actual.add(outer.getRegion());
+		});
+		
+		Assert.assertEquals(actual, Arrays.asList(1L, 1L));
+		Assert.assertEquals(bound.getOutstanding(0), 0);
+		Assert.assertTrue(shared.isClosed());
+	}
+	
+	private long read() {
+		List<RegionSummary> l = new ArrayList<RegionSummary>();
+		dao.list(SELECT, null, RegionSummary.class, l::add);
+		return l.get(0).getRegion();
+	}
+	
+	private Connection open(String name, long region) throws Exception {
+		Connection conn = DriverManager.getConnection("jdbc:h2:mem:" + name);
+		conn.createStatement().execute("CREATE TABLE TB_NODE(NU_REGION BIGINT)");
+		conn.createStatement().execute("INSERT INTO TB_NODE VALUES (" + region + ")");
+		keepers.add(conn);
+		return conn;
+	}
+
+}